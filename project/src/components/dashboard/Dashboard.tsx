@@ -1,10 +1,11 @@
 // project/src/components/dashboard/Dashboard.tsx
 import React, { useState, useEffect } from 'react';
-import { Ticket as TicketIcon, Users, MapPin, Calendar, Clock, DollarSign, Edit, Trash2 } from 'lucide-react';
+import { Ticket as TicketIcon, Users, MapPin, Calendar, Clock, DollarSign, Edit, Trash2, Printer } from 'lucide-react';
 import { useAuth } from '../../contexts/AuthContext';
 import { Event, Ticket as TicketType } from '../../types';
 
 const API_URL = 'http://localhost:8080/api';
+const BASE_URL = 'http://localhost:8080';
 
 interface DashboardProps {
   onEventSelect: (event: Event) => void;
@@ -33,7 +34,7 @@ const Dashboard: React.FC<DashboardProps> = ({ onEventSelect, onEventEdit }) =>
           organizer: event.organizer,
           organizerId: event.organizer.id.toString(),
           tags: event.tags || [],
-          image: event.imageUrl,
+          image: event.imageVariants?.card ?? event.imageUrl,
         }));
         setOrganizedEvents(adaptedEvents);
       } else {
@@ -189,7 +190,24 @@ const Dashboard: React.FC<DashboardProps> = ({ onEventSelect, onEventEdit }) =>
                                <DollarSign className="h-5 w-5 mr-1 text-green-600"/>
                                <span className="font-semibold">{ticket.price > 0 ? `RM${ticket.price.toFixed(2)}` : 'Free'}</span>
                             </div>
+                            {ticket.pdfUrl && (
+                              <a
+                                href={`${BASE_URL}${ticket.pdfUrl}`}
+                                target="_blank"
+                                rel="noopener noreferrer"
+                                className="flex items-center text-sm font-medium text-blue-600 hover:text-blue-800"
+                              >
+                                <Printer className="h-4 w-4 mr-1" /> Print ticket
+                              </a>
+                            )}
                            </div>
+                           {ticket.qrImageUrl && (
+                             <img
+                              src={`${BASE_URL}${ticket.qrImageUrl}`}
+                              alt={`QR code for ${ticket.eventTitle}`}
+                              className="mt-4 h-32 w-32 self-center"
+                             />
+                           )}
                          </div>
                        </div>
                     ))}
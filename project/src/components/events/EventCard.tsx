@@ -37,6 +37,8 @@ const EventCard: React.FC<EventCardProps> = ({ event, onSelect }) => {
     switch (status) {
       case 'upcoming':
         return 'bg-green-100 text-green-800';
+      case 'sold-out':
+        return 'bg-orange-100 text-orange-800';
       case 'ongoing':
         return 'bg-blue-100 text-blue-800';
       case 'completed':
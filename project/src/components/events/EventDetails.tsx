@@ -44,6 +44,7 @@ const EventDetails: React.FC<EventDetailsProps> = ({ event, onBack }) => {
   const getStatusColor = (status: string) => {
     switch (status) {
       case 'upcoming': return 'bg-green-100 text-green-800 border-green-200';
+      case 'sold-out': return 'bg-orange-100 text-orange-800 border-orange-200';
       case 'ongoing': return 'bg-blue-100 text-blue-800 border-blue-200';
       case 'completed': return 'bg-gray-100 text-gray-800 border-gray-200';
       case 'cancelled': return 'bg-red-100 text-red-800 border-red-200';
@@ -39,7 +39,7 @@ const EventList: React.FC<EventListProps> = ({ onEventSelect }) => {
             organizer: event.organizer, // Keep the organizer as an object
             organizerId: event.organizer.id.toString(),
             tags: event.tags || [],
-            image: event.imageUrl,
+            image: event.imageVariants?.card ?? event.imageUrl,
         }));
         setEvents(adaptedData);
 
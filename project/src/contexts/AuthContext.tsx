@@ -1,4 +1,4 @@
-import React, { createContext, useContext, useState, useEffect } from 'react';
+import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
 import { User } from '../types';
 
 // The backend API base URL
@@ -15,6 +15,18 @@ interface AuthContextType {
 
 const AuthContext = createContext<AuthContextType | undefined>(undefined);
 
+// Renew the access token this long before it expires.
+const REFRESH_MARGIN_MS = 60 * 1000;
+
+const getTokenExpiry = (jwt: string): number | null => {
+  try {
+    const payload = JSON.parse(atob(jwt.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')));
+    return typeof payload.exp === 'number' ? payload.exp * 1000 : null;
+  } catch {
+    return null;
+  }
+};
+
 export const useAuth = () => {
   const context = useContext(AuthContext);
   if (context === undefined) {
@@ -28,6 +40,55 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
   const [token, setToken] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
 
+  const saveSession = (data: { user: User; token: string; refreshToken: string }) => {
+    setUser(data.user);
+    setToken(data.token);
+    localStorage.setItem('eventPlatformUser', JSON.stringify(data.user));
+    localStorage.setItem('eventPlatformToken', data.token);
+    localStorage.setItem('eventPlatformRefreshToken', data.refreshToken);
+  };
+
+  const clearSession = () => {
+    setUser(null);
+    setToken(null);
+    localStorage.removeItem('eventPlatformUser');
+    localStorage.removeItem('eventPlatformToken');
+    localStorage.removeItem('eventPlatformRefreshToken');
+  };
+
+  const refreshSession = useCallback(async () => {
+    const refreshToken = localStorage.getItem('eventPlatformRefreshToken');
+    if (!refreshToken) {
+      clearSession();
+      return;
+    }
+    try {
+      const response = await fetch(`${API_URL}/auth/refresh`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ refreshToken }),
+      });
+      if (!response.ok) {
+        clearSession();
+        return;
+      }
+      saveSession(await response.json());
+    } catch (error) {
+      console.error("Failed to refresh session:", error);
+    }
+  }, []);
+
+  // Access tokens are short-lived, so renew them shortly before they expire.
+  useEffect(() => {
+    if (!token) return;
+    const expiry = getTokenExpiry(token);
+    if (expiry === null) return;
+    const timer = setTimeout(refreshSession, Math.max(0, expiry - Date.now() - REFRESH_MARGIN_MS));
+    return () => clearTimeout(timer);
+  }, [token, refreshSession]);
+
   useEffect(() => {
     // Check for saved user and token in localStorage on initial load
     try {
@@ -64,10 +125,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
       const data = await response.json();
       
       // Set state and save to localStorage
-      setUser(data.user);
-      setToken(data.token);
-      localStorage.setItem('eventPlatformUser', JSON.stringify(data.user));
-      localStorage.setItem('eventPlatformToken', data.token);
+      saveSession(data);
 
       setIsLoading(false);
       return true;
@@ -107,10 +165,16 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
   };
 
   const logout = () => {
-    setUser(null);
-    setToken(null);
-    localStorage.removeItem('eventPlatformUser');
-    localStorage.removeItem('eventPlatformToken');
+    const refreshToken = localStorage.getItem('eventPlatformRefreshToken');
+    fetch(`${API_URL}/auth/logout`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        ...(token ? { 'Authorization': `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify({ refreshToken }),
+    }).catch(error => console.error("Failed to revoke session:", error));
+    clearSession();
   };
 
   return (
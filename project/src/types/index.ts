@@ -25,7 +25,7 @@ export interface Event {
   currentAttendees: number;
   organizerId: string;
   organizer: User; // Changed from string to User
-  status: 'upcoming' | 'ongoing' | 'completed' | 'cancelled';
+  status: 'upcoming' | 'sold-out' | 'ongoing' | 'completed' | 'cancelled';
   tags: string[];
   createdAt: string;
   updatedAt: string;
@@ -48,6 +48,9 @@ export interface Ticket {
   eventVenue: string;
   eventImageUrl: string;
   eventTime: string;
+  // Short-lived signed links, usable without the Authorization header
+  qrImageUrl: string;
+  pdfUrl: string;
 }
 
 // ... your other interfaces (Registration, EventUpdate) ...
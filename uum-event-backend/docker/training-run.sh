@@ -0,0 +1,82 @@
+#!/bin/sh
+# Training run for the class-data-sharing archive, executed while the Docker image is built.
+#
+# 1. Starts the application on an in-memory H2 database (migrated by Flyway and validated against
+#    the entity mappings, as in production) with -XX:ArchiveClassesAtExit, drives the
+#    common request paths (sign-up, login, event creation and listing, health, metrics) and stops
+#    it; the JVM writes the classes it loaded to app.jsa on exit.
+# 2. Starts it again from app.jsa and repeats the first request.
+#
+# Time to first request of both runs (logged by FirstRequestTimingFilter) is printed and written
+# to startup-report.txt. Run from the directory holding app.jar and lib/.
+set -eu
+
+PORT=8089
+MANAGEMENT_PORT=8088
+LOG=/tmp/training.log
+BASE="http://localhost:$PORT"
+MANAGEMENT_BASE="http://localhost:$MANAGEMENT_PORT"
+
+start() {
+    java "$@" -Dspring.aot.enabled=true -jar app.jar \
+        --server.port=$PORT \
+        --management.server.port=$MANAGEMENT_PORT \
+        --spring.datasource.url='jdbc:h2:mem:training;MODE=MySQL;DB_CLOSE_DELAY=-1' \
+        --spring.datasource.driver-class-name=org.h2.Driver \
+        --spring.datasource.username=sa \
+        --spring.datasource.password= \
+        --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+        --file.upload-dir=/tmp/training-uploads \
+        --outbox.sink.log.enabled=false \
+        > "$LOG" 2>&1 &
+    PID=$!
+    until wget -q -O /dev/null "$BASE/api/events"; do
+        if ! kill -0 "$PID" 2>/dev/null; then
+            cat "$LOG"
+            echo "Training run failed to start" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+stop() {
+    kill "$PID"
+    wait "$PID" || true
+}
+
+first_request_ms() {
+    sed -n 's/.*First request served \([0-9]*\) ms after JVM start.*/\1/p' "$LOG"
+}
+
+post() {
+    wget -q -O - --header 'Content-Type: application/json' ${2:+--header "Authorization: Bearer $2"} --post-data "$3" "$BASE$1" || true
+}
+
+token() {
+    sed -n 's/.*"token":"\([^"]*\)".*/\1/p'
+}
+
+start -XX:ArchiveClassesAtExit=app.jsa
+WITHOUT_CDS=$(first_request_ms)
+post /api/auth/register "" '{"name":"Training","email":"training@uum.edu.my","password":"training-password","role":"organizer"}' > /dev/null
+TOKEN=$(post /api/auth/login "" '{"email":"training@uum.edu.my","password":"training-password"}' | token)
+post /api/events "$TOKEN" '{"title":"Training","shortDescription":"s","description":"d","date":"2099-01-01","time":"10:00:00","location":"Sintok","venue":"Hall","category":"Workshop","price":0,"maxAttendees":10,"tags":["training"]}' > /dev/null
+for path in /api/events /api/events/1 /api/events/my-organized /api/events/my-organized/stats; do
+    wget -q -O /dev/null --header "Authorization: Bearer $TOKEN" "$BASE$path" || true
+done
+for path in /actuator/health /actuator/prometheus; do
+    wget -q -O /dev/null "$MANAGEMENT_BASE$path" || true
+done
+stop
+test -s app.jsa
+
+start -XX:SharedArchiveFile=app.jsa
+WITH_CDS=$(first_request_ms)
+stop
+
+{
+    echo "Time to first request without the CDS archive: ${WITHOUT_CDS} ms"
+    echo "Time to first request with the CDS archive:    ${WITH_CDS} ms"
+} | tee startup-report.txt
+rm -rf /tmp/training-uploads "$LOG"
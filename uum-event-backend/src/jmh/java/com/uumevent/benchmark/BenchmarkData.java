@@ -0,0 +1,141 @@
+package com.uumevent.benchmark;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.TicketDto;
+import com.uumevent.dto.UserDto;
+import com.uumevent.entity.Event;
+import com.uumevent.entity.Tag;
+import com.uumevent.entity.User;
+import com.uumevent.service.CacheCoherenceService;
+import com.uumevent.service.CoherentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Deterministic fixtures shaped like production rows, shared by the benchmarks.
+final class BenchmarkData {
+
+    static final String[] CATEGORIES = { "Academic", "Sports", "Cultural", "Career", "Workshop" };
+
+    private BenchmarkData() {
+    }
+
+    // Stand-in for CacheCoherenceService whose caches either serve entries (cached) or always read
+    // through to the (stubbed) repositories.
+    static CacheCoherenceService cacheCoherence(boolean cached) {
+        CacheCoherenceService cacheCoherenceService = mock(CacheCoherenceService.class);
+        when(cacheCoherenceService.register(anyString())).thenAnswer(invocation ->
+                new CoherentCache<>(invocation.getArgument(0), 100_000, () -> cached,
+                        TransactionOperations.withoutTransaction(), new SimpleMeterRegistry()));
+        return cacheCoherenceService;
+    }
+
+    static User organizer(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Organizer " + id);
+        user.setEmail("organizer" + id + "@uum.edu.my");
+        user.setRole("organizer");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        return user;
+    }
+
+    static List<Event> events(int count) {
+        List<User> organizers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            organizers.add(organizer(i + 1));
+        }
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i + 1);
+            tag.setName("tag-" + i);
+            tags.add(tag);
+        }
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setId((long) i + 1);
+            event.setTitle("Event " + i);
+            event.setShortDescription("Short description of event " + i);
+            event.setDescription("A longer description of event " + i + ". ".repeat(20));
+            event.setDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            event.setTime(LocalTime.of(9 + i % 10, 0));
+            event.setLocation("Sintok");
+            event.setVenue("Dewan Muadzam Shah");
+            event.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            event.setPrice(BigDecimal.valueOf(i % 50));
+            event.setMaxAttendees(500);
+            event.setCurrentAttendees(i % 500);
+            event.setImageUrl("http://localhost:8080/uploads/" + UUID.nameUUIDFromBytes(("img" + i).getBytes()) + ".jpg");
+            event.setStatus("upcoming");
+            event.setOrganizer(organizers.get(i % organizers.size()));
+            event.setTags(Set.of(tags.get(i % tags.size()), tags.get((i + 3) % tags.size())));
+            event.setCreatedAt(Instant.parse("2025-06-01T00:00:00Z"));
+            events.add(event);
+        }
+        return events;
+    }
+
+    static List<EventDto> eventDtos(int count) {
+        List<EventDto> dtos = new ArrayList<>(count);
+        for (Event event : events(count)) {
+            EventDto dto = new EventDto();
+            dto.setId(event.getId());
+            dto.setTitle(event.getTitle());
+            dto.setShortDescription(event.getShortDescription());
+            dto.setDescription(event.getDescription());
+            dto.setDate(event.getDate());
+            dto.setTime(event.getTime());
+            dto.setLocation(event.getLocation());
+            dto.setVenue(event.getVenue());
+            dto.setCategory(event.getCategory());
+            dto.setPrice(event.getPrice());
+            dto.setMaxAttendees(event.getMaxAttendees());
+            dto.setCurrentAttendees(event.getCurrentAttendees());
+            dto.setImageUrl(event.getImageUrl());
+            dto.setImageVariants(Map.of("thumbnail", event.getImageUrl(), "card", event.getImageUrl(), "hero", event.getImageUrl()));
+            dto.setStatus(event.getStatus());
+            dto.setOrganizer(UserDto.builder().id(1L).name("Organizer").email("organizer@uum.edu.my").role("organizer").build());
+            dto.setTags(List.of("tag-1", "tag-2"));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    static List<TicketDto> ticketDtos(int count) {
+        List<TicketDto> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(TicketDto.builder()
+                    .id((long) i + 1)
+                    .eventTitle("Event " + i)
+                    .eventDate(LocalDate.of(2026, 1, 1).plusDays(i % 365).toString())
+                    .eventLocation("Sintok")
+                    .purchaseDate(Instant.parse("2025-06-01T00:00:00Z").plusSeconds(i))
+                    .status("active")
+                    .qrCode(UUID.nameUUIDFromBytes(("ticket" + i).getBytes()).toString())
+                    .price(BigDecimal.TEN)
+                    .ticketType("regular")
+                    .eventVenue("Dewan Muadzam Shah")
+                    .eventImageUrl("http://localhost:8080/uploads/image" + i + "_card.jpg")
+                    .eventTime(LocalTime.of(10, 0))
+                    .qrImageUrl("/api/tickets/" + (i + 1) + "/qr.png?v=1-320")
+                    .pdfUrl("/api/tickets/" + (i + 1) + "/ticket.pdf")
+                    .build());
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,68 @@
+package com.uumevent.benchmark;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.entity.Event;
+import com.uumevent.repository.EventRepository;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.repository.TagRepository;
+import com.uumevent.repository.UserRepository;
+import com.uumevent.service.CacheCoherenceService;
+import com.uumevent.service.EventLifecycleService;
+import com.uumevent.service.EventService;
+import com.uumevent.service.EventStatsService;
+import com.uumevent.service.FileStorageService;
+import com.uumevent.service.ImageVariantService;
+import com.uumevent.service.OutboxService;
+import com.uumevent.service.RegistrationAnalyticsService;
+import com.uumevent.service.SeatUpdateBroadcaster;
+import com.uumevent.service.storage.StorageBackend;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// EventService.getAllEvents over a stubbed repository, i.e. the entity-to-DTO mapping cost of
+// the catalog endpoint without the database. With cached=false every event is mapped on every
+// call; with cached=true the DTOs come from the event cache after the first call.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int eventCount;
+
+    @Param({ "false", "true" })
+    public boolean cached;
+
+    private EventService eventService;
+
+    @Setup
+    public void setUp() {
+        List<Event> events = BenchmarkData.events(eventCount);
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAllIds()).thenReturn(events.stream().map(Event::getId).collect(Collectors.toList()));
+        when(eventRepository.findWithDetailsByIdIn(anyCollection())).thenReturn(events);
+
+        CacheCoherenceService cacheCoherenceService = BenchmarkData.cacheCoherence(cached);
+        ImageVariantService imageVariantService = new ImageVariantService(
+                mock(ImageAssetRepository.class), mock(StorageBackend.class), new SyncTaskExecutor(), cacheCoherenceService, 0.82f, 25_000_000L);
+        eventService = new EventService(eventRepository, mock(UserRepository.class), mock(TagRepository.class),
+                imageVariantService, mock(FileStorageService.class), mock(EventStatsService.class), mock(RegistrationAnalyticsService.class),
+                mock(EventLifecycleService.class), mock(SeatUpdateBroadcaster.class), mock(OutboxService.class), cacheCoherenceService);
+    }
+
+    @Benchmark
+    public List<EventDto> getAllEvents() {
+        return eventService.getAllEvents();
+    }
+}
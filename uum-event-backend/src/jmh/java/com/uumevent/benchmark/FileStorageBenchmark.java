@@ -0,0 +1,148 @@
+package com.uumevent.benchmark;
+
+import com.uumevent.entity.ImageAsset;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.repository.StoredFileRepository;
+import com.uumevent.service.CacheCoherenceService;
+import com.uumevent.service.FileStorageService;
+import com.uumevent.service.ImageVariantService;
+import com.uumevent.service.storage.LocalShardedStorageBackend;
+import com.uumevent.service.storage.StorageBackend;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// FileStorageService.storeFile with encoded phone photos (JPEG) and a screenshot (PNG), uploaded
+// with their image content type so each call also records an ImageAsset and queues derivative
+// generation. The derivatives themselves are generated on the image worker pool, outside the
+// upload request, and are not run here. Each invocation rewrites an 8-byte slot in a comment
+// segment (JPEG) or private chunk (PNG) so content-hash deduplication cannot short-circuit the
+// write while the payload stays a valid image.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({ "1280x960.jpg", "4032x3024.jpg", "2560x1600.png" })
+    public String image;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private String contentType;
+    private byte[] content;
+    private int slot;
+    private long counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("uum-bench-uploads");
+        ImageAssetRepository imageAssetRepository = mock(ImageAssetRepository.class);
+        when(imageAssetRepository.save(any(ImageAsset.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ImageVariantService imageVariantService = new ImageVariantService(imageAssetRepository,
+                mock(StorageBackend.class), task -> { }, mock(CacheCoherenceService.class), 0.82f, 25_000_000L);
+        fileStorageService = new FileStorageService(uploadDir.toString(), new LocalShardedStorageBackend(uploadDir, 2),
+                imageVariantService, mock(StoredFileRepository.class));
+
+        String[] dimensions = image.substring(0, image.indexOf('.')).split("x");
+        String format = image.substring(image.indexOf('.') + 1);
+        BufferedImage picture = picture(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), format.equals("png"));
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(picture, format.equals("png") ? "png" : "jpeg", encoded);
+        if (format.equals("png")) {
+            contentType = "image/png";
+            content = withPngSlot(encoded.toByteArray());
+        } else {
+            contentType = "image/jpeg";
+            content = withJpegSlot(encoded.toByteArray());
+        }
+        if (ImageIO.read(new ByteArrayInputStream(content)) == null) {
+            throw new IllegalStateException("Benchmark payload " + image + " does not decode");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public String storeFile() {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        buffer.putLong(slot, counter++);
+        if (contentType.equals("image/png")) {
+            CRC32 crc = new CRC32();
+            crc.update(content, slot - 4, 12);
+            buffer.putInt(slot + 8, (int) crc.getValue());
+        }
+        return fileStorageService.storeFile(new MockMultipartFile("file", "upload." + image.substring(image.indexOf('.') + 1), contentType, content));
+    }
+
+    // Smooth gradients with sensor-like noise for photos, which keeps JPEG sizes realistic; flat
+    // panels with a little text-like detail for screenshots.
+    private static BufferedImage picture(int width, int height, boolean screenshot) {
+        BufferedImage picture = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb;
+                if (screenshot) {
+                    boolean detail = (y / 16) % 3 == 0 && (x / 6) % 5 != 0 && random.nextInt(3) == 0;
+                    rgb = detail ? 0x202020 : (x < width / 5 ? 0xF0F0F5 : 0xFFFFFF);
+                } else {
+                    int noise = random.nextInt(24) - 12;
+                    int r = clamp(x * 255 / width + noise);
+                    int g = clamp(y * 255 / height + noise);
+                    int b = clamp((x + y) * 128 / (width + height) + 64 + noise);
+                    rgb = (r << 16) | (g << 8) | b;
+                }
+                picture.setRGB(x, y, rgb);
+            }
+        }
+        return picture;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    // COM segment (FF FE, length 10) right after SOI.
+    private byte[] withJpegSlot(byte[] jpeg) {
+        byte[] result = new byte[jpeg.length + 12];
+        result[0] = jpeg[0];
+        result[1] = jpeg[1];
+        ByteBuffer.wrap(result, 2, 4).putShort((short) 0xFFFE).putShort((short) 10);
+        System.arraycopy(jpeg, 2, result, 14, jpeg.length - 2);
+        slot = 6;
+        return result;
+    }
+
+    // Private ancillary "noNc" chunk (length 8, CRC recomputed per call) right after IHDR.
+    private byte[] withPngSlot(byte[] png) {
+        int afterHeader = 8 + 25;
+        byte[] result = new byte[png.length + 20];
+        System.arraycopy(png, 0, result, 0, afterHeader);
+        ByteBuffer.wrap(result, afterHeader, 8).putInt(8).put(new byte[] { 'n', 'o', 'N', 'c' });
+        System.arraycopy(png, afterHeader, result, afterHeader + 20, png.length - afterHeader);
+        slot = afterHeader + 8;
+        return result;
+    }
+}
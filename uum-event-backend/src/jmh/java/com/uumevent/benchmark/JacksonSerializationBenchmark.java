@@ -0,0 +1,45 @@
+package com.uumevent.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.TicketDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response serialization for the catalog and wallet endpoints, using the same ObjectMapper
+// defaults Spring Boot applies (JavaTimeModule, ISO dates).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<EventDto> events;
+    private List<TicketDto> tickets;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        events = BenchmarkData.eventDtos(size);
+        tickets = BenchmarkData.ticketDtos(size);
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws Exception {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] serializeTickets() throws Exception {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+}
@@ -0,0 +1,63 @@
+package com.uumevent.benchmark;
+
+import com.uumevent.config.JwtAuthenticationFilter;
+import com.uumevent.entity.User;
+import com.uumevent.repository.RevokedTokenRepository;
+import com.uumevent.repository.UserRepository;
+import com.uumevent.service.CacheCoherenceService;
+import com.uumevent.service.JwtService;
+import com.uumevent.service.TokenRevocationService;
+import com.uumevent.service.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// One authenticated request through JwtAuthenticationFilter: header parsing, token verification,
+// the revocation check and the user lookup (stubbed, so the database is excluded).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.organizer(1);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        // The account cache reads through, so every request still goes to the (stubbed) lookup.
+        CacheCoherenceService cacheCoherenceService = BenchmarkData.cacheCoherence(false);
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository, cacheCoherenceService);
+
+        JwtService jwtService = JwtServiceBenchmark.jwtService();
+        TokenRevocationService revocationService = new TokenRevocationService(mock(RevokedTokenRepository.class), cacheCoherenceService, 100_000, 0.01);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, revocationService);
+        authorizationHeader = "Bearer " + jwtService.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/my-tickets");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
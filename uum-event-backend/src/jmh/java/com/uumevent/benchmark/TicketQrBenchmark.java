@@ -0,0 +1,49 @@
+package com.uumevent.benchmark;
+
+import com.uumevent.dto.TicketDto;
+import com.uumevent.service.TicketPdfRenderer;
+import com.uumevent.service.TicketQrService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Ticket QR endpoints without the web layer: rendering a PNG (cache disabled), serving it from the
+// byte cache, and rendering the printable PDF.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketQrBenchmark {
+
+    private TicketQrService uncached;
+    private TicketQrService cached;
+    private TicketPdfRenderer pdfRenderer;
+    private TicketDto ticket;
+
+    @Setup
+    public void setUp() {
+        uncached = new TicketQrService(new SimpleMeterRegistry(), 320, 0);
+        cached = new TicketQrService(new SimpleMeterRegistry(), 320, 8 * 1024 * 1024);
+        pdfRenderer = new TicketPdfRenderer(uncached);
+        ticket = BenchmarkData.ticketDtos(1).get(0);
+        cached.png(ticket.getQrCode());
+    }
+
+    @Benchmark
+    public byte[] renderPng() {
+        return uncached.png(ticket.getQrCode());
+    }
+
+    @Benchmark
+    public byte[] cachedPng() {
+        return cached.png(ticket.getQrCode());
+    }
+
+    @Benchmark
+    public byte[] renderPdf() {
+        return pdfRenderer.render(ticket);
+    }
+}
@@ -0,0 +1,404 @@
+package com.uumevent.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.uumevent.UumEventBackendApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+// Seeds users and events through the REST API, replays the browse / login / registration
+// workloads and then checks the database state for oversold events and duplicate tickets.
+// Without base-url an embedded backend on an in-memory H2 database is started in this JVM.
+//
+//   ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="users=500 events=200 duration=20"
+//
+// threads=virtual starts the embedded backend with spring.threads.virtual.enabled=true (Java 21+).
+// To compare it with the default thread pools, run the same workload with threads=platform and
+// threads=virtual, a concurrency above Tomcat's 200 worker threads and a separate output file each:
+//
+//   -Dloadtest.args="concurrency=400 threads=platform output=target/loadtest-platform.json"
+//   -Dloadtest.args="concurrency=400 threads=virtual output=target/loadtest-virtual.json"
+//
+// Exits with status 1 when any oversell, duplicate or lost-update violation was observed.
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final String[] CATEGORIES = { "Academic", "Sports", "Cultural", "Career", "Workshop" };
+
+    record Settings(String baseUrl, int users, int events, int concurrency, int durationSeconds,
+                    int raceCapacity, int raceUsers, String threads, String output) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Expected key=value but got: " + arg);
+                }
+                values.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+            int users = Integer.parseInt(values.getOrDefault("users", "2000"));
+            int raceCapacity = Integer.parseInt(values.getOrDefault("race-capacity", "50"));
+            String threads = values.getOrDefault("threads", "platform");
+            if (!threads.equals("platform") && !threads.equals("virtual")) {
+                throw new IllegalArgumentException("threads must be platform or virtual but was: " + threads);
+            }
+            return new Settings(
+                    values.get("base-url"),
+                    users,
+                    Integer.parseInt(values.getOrDefault("events", "1000")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                    Integer.parseInt(values.getOrDefault("duration", "30")),
+                    raceCapacity,
+                    Math.min(users, Integer.parseInt(values.getOrDefault("race-users", String.valueOf(raceCapacity * 4)))),
+                    threads,
+                    values.getOrDefault("output", "target/loadtest-result.json"));
+        }
+    }
+
+    record Account(String email, String token) {
+    }
+
+    private final Settings settings;
+    private final ApiClient api;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Account> attendees = new ArrayList<>();
+    private final List<Long> catalog = new ArrayList<>();
+    private final Map<Long, Integer> capacities = new HashMap<>();
+    private long raceEventId;
+
+    // Confirmed (201) registrations as seen by the clients, per "email:eventId" and per event.
+    private final Map<String, AtomicInteger> confirmedTickets = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> confirmedPerEvent = new ConcurrentHashMap<>();
+
+    LoadTestRunner(Settings settings, ApiClient api) {
+        this.settings = settings;
+        this.api = api;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        ConfigurableApplicationContext backend = null;
+        String baseUrl = settings.baseUrl();
+        if (baseUrl == null) {
+            backend = startEmbeddedBackend(settings.threads().equals("virtual"));
+            if (settings.threads().equals("virtual") && !Threading.VIRTUAL.isActive(backend.getEnvironment())) {
+                backend.close();
+                throw new IllegalStateException("threads=virtual needs Java 21 or later, running on " + Runtime.version());
+            }
+            baseUrl = "http://localhost:" + backend.getEnvironment().getProperty("local.server.port");
+        }
+        int violations;
+        try {
+            violations = new LoadTestRunner(settings, new ApiClient(baseUrl)).run();
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        System.exit(violations == 0 ? 0 : 1);
+    }
+
+    // Command-line arguments take precedence over application.properties, unlike default properties.
+    private static ConfigurableApplicationContext startEmbeddedBackend(boolean virtualThreads) {
+        return new SpringApplicationBuilder(UumEventBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--file.upload-dir=target/loadtest-uploads",
+                "--logging.level.root=WARN");
+    }
+
+    int run() throws Exception {
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("Seeded %d attendees and %d events in %.1f s (run %s)%n",
+                attendees.size(), catalog.size() + 1, (System.nanoTime() - seedStart) / 1e9, runId);
+
+        Duration duration = Duration.ofSeconds(settings.durationSeconds());
+        List<LatencyStats> results = new ArrayList<>();
+        results.add(browse(duration));
+        results.add(loginStorm(duration));
+        results.add(registrationRace());
+        results.addAll(mixed(duration));
+
+        Map<String, Object> violations = verify();
+
+        System.out.println();
+        results.forEach(stats -> System.out.println(stats.format()));
+        System.out.println();
+        violations.forEach((key, value) -> System.out.printf("%-22s %s%n", key, value));
+
+        writeReport(results, violations);
+        return (int) violations.get("duplicateTickets") + (int) violations.get("oversoldEvents") + (int) violations.get("lostUpdates");
+    }
+
+    private void seed() throws Exception {
+        int organizerCount = Math.max(1, settings.events() / 50);
+        List<Account> organizers = parallel(organizerCount, i -> signUpAndLogin("organizer-" + i, "organizer"));
+        attendees.addAll(parallel(settings.users(), i -> signUpAndLogin("attendee-" + i, "attendee")));
+
+        // Tags are created on first use, so one event per category goes first to avoid racing on them.
+        int sequential = Math.min(settings.events(), CATEGORIES.length);
+        for (int i = 0; i < sequential; i++) {
+            catalog.add(createEvent(organizers.get(i % organizerCount), i, 500));
+        }
+        catalog.addAll(parallel(settings.events() - sequential, i -> createEvent(organizers.get((i + sequential) % organizerCount), i + sequential, 500)));
+        raceEventId = createEvent(organizers.get(0), settings.events(), settings.raceCapacity());
+    }
+
+    private Account signUpAndLogin(String name, String role) {
+        String email = name + "." + runId + "@loadtest.uum.edu.my";
+        Map<String, Object> signUp = Map.of("name", name, "email", email, "password", PASSWORD, "role", role);
+        ApiClient.Response registered = api.post("/api/auth/register", signUp, null);
+        if (!registered.ok()) {
+            throw new IllegalStateException("Sign-up failed for " + email + ": " + registered.status() + " " + registered.body());
+        }
+        return new Account(email, login(email));
+    }
+
+    private String login(String email) {
+        ApiClient.Response response = api.post("/api/auth/login", Map.of("email", email, "password", PASSWORD), null);
+        if (!response.ok()) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.status());
+        }
+        return api.json(response).get("token").asText();
+    }
+
+    private long createEvent(Account organizer, int index, int maxAttendees) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("title", "Load test " + runId + " #" + index);
+        event.put("shortDescription", "Seeded by the load test");
+        event.put("description", "Synthetic event " + index + " created to exercise the catalog read path.");
+        event.put("date", LocalDate.now().plusDays(1 + index % 300).toString());
+        event.put("time", "10:00:00");
+        event.put("location", "Sintok");
+        event.put("venue", "Hall " + (index % 20));
+        event.put("category", CATEGORIES[index % CATEGORIES.length]);
+        event.put("price", 0);
+        event.put("maxAttendees", maxAttendees);
+        event.put("tags", List.of("loadtest", CATEGORIES[index % CATEGORIES.length].toLowerCase()));
+        ApiClient.Response response = api.post("/api/events", event, organizer.token());
+        if (!response.ok()) {
+            throw new IllegalStateException("Event creation failed: " + response.status() + " " + response.body());
+        }
+        long id = api.json(response).get("id").asLong();
+        synchronized (capacities) {
+            capacities.put(id, maxAttendees);
+        }
+        return id;
+    }
+
+    private LatencyStats browse(Duration duration) throws InterruptedException {
+        LatencyStats stats = new LatencyStats("browse");
+        runFor(stats, settings.concurrency(), duration, random -> browseOnce(stats));
+        return stats;
+    }
+
+    private LatencyStats loginStorm(Duration duration) throws InterruptedException {
+        LatencyStats stats = new LatencyStats("login-storm");
+        runFor(stats, settings.concurrency(), duration, random -> loginOnce(stats, random));
+        return stats;
+    }
+
+    // Every racing user fires two requests at once so both overselling and double registration
+    // are exercised; all requests are released together by a start gate.
+    private LatencyStats registrationRace() throws Exception {
+        LatencyStats stats = new LatencyStats("register-race");
+        int requests = settings.raceUsers() * 2;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(requests, 512));
+        CountDownLatch ready = new CountDownLatch(requests);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            Account account = attendees.get(i / 2);
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                gate.await();
+                registerOnce(stats, account, raceEventId);
+                return null;
+            }));
+        }
+        ready.await();
+        stats.start();
+        gate.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        stats.stop();
+        pool.shutdown();
+        return stats;
+    }
+
+    // 80% anonymous browsing, 10% logins and 10% registrations for random catalog events.
+    private List<LatencyStats> mixed(Duration duration) throws InterruptedException {
+        LatencyStats browse = new LatencyStats("mixed/browse");
+        LatencyStats login = new LatencyStats("mixed/login");
+        LatencyStats register = new LatencyStats("mixed/register");
+        List<LatencyStats> all = List.of(browse, login, register);
+        all.forEach(LatencyStats::start);
+        runFor(null, settings.concurrency(), duration, random -> {
+            int roll = random.nextInt(10);
+            if (roll < 8) {
+                browseOnce(browse);
+            } else if (roll == 8) {
+                loginOnce(login, random);
+            } else {
+                Account account = attendees.get(random.nextInt(attendees.size()));
+                registerOnce(register, account, catalog.get(random.nextInt(catalog.size())));
+            }
+        });
+        all.forEach(LatencyStats::stop);
+        return all;
+    }
+
+    private void browseOnce(LatencyStats stats) {
+        timed(stats, () -> api.get("/api/events", null), status -> status == 200);
+    }
+
+    private void loginOnce(LatencyStats stats, ThreadLocalRandom random) {
+        Account account = attendees.get(random.nextInt(attendees.size()));
+        Map<String, String> credentials = Map.of("email", account.email(), "password", PASSWORD);
+        timed(stats, () -> api.post("/api/auth/login", credentials, null), status -> status == 200);
+    }
+
+    // A 400 (already registered / sold out) is an expected answer; anything else is an error.
+    private void registerOnce(LatencyStats stats, Account account, long eventId) {
+        Map<String, String> body = Map.of("name", account.email(), "email", account.email(), "phone", "0123456789", "specialRequests", "");
+        ApiClient.Response response = timed(stats, () -> api.post("/api/events/" + eventId + "/register", body, account.token()),
+                status -> status == 201 || status == 400);
+        if (response.status() == 201) {
+            confirmedTickets.computeIfAbsent(account.email() + ":" + eventId, key -> new AtomicInteger()).incrementAndGet();
+            confirmedPerEvent.computeIfAbsent(eventId, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private ApiClient.Response timed(LatencyStats stats, Supplier<ApiClient.Response> call, IntPredicate expected) {
+        long start = System.nanoTime();
+        ApiClient.Response response = call.get();
+        stats.record(System.nanoTime() - start, response.status(), expected.test(response.status()));
+        return response;
+    }
+
+    private Map<String, Object> verify() {
+        Map<Long, JsonNode> events = new HashMap<>();
+        for (JsonNode event : api.json(api.get("/api/events", null))) {
+            events.put(event.get("id").asLong(), event);
+        }
+
+        int duplicates = (int) confirmedTickets.values().stream().filter(count -> count.get() > 1).count();
+        int oversold = 0;
+        int lostUpdates = 0;
+        for (Map.Entry<Long, Integer> entry : capacities.entrySet()) {
+            JsonNode event = events.get(entry.getKey());
+            int confirmed = confirmedPerEvent.getOrDefault(entry.getKey(), new AtomicInteger()).get();
+            int current = event == null ? 0 : event.get("currentAttendees").asInt();
+            if (confirmed > entry.getValue() || current > entry.getValue()) {
+                oversold++;
+            }
+            if (current != confirmed) {
+                lostUpdates++;
+            }
+        }
+
+        Map<String, Object> violations = new LinkedHashMap<>();
+        violations.put("raceEventCapacity", settings.raceCapacity());
+        violations.put("raceEventConfirmed", confirmedPerEvent.getOrDefault(raceEventId, new AtomicInteger()).get());
+        violations.put("duplicateTickets", duplicates);
+        violations.put("oversoldEvents", oversold);
+        violations.put("lostUpdates", lostUpdates);
+        return violations;
+    }
+
+    private void writeReport(List<LatencyStats> results, Map<String, Object> violations) throws Exception {
+        if (settings.output() == null || settings.output().isBlank()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", runId);
+        report.put("settings", settings);
+        report.put("workloads", results.stream().map(LatencyStats::summary).toList());
+        report.put("violations", violations);
+        Path output = Paths.get(settings.output());
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        api.mapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+
+    private interface Operation {
+        void run(ThreadLocalRandom random);
+    }
+
+    private void runFor(LatencyStats stats, int threads, Duration duration, Operation operation) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        if (stats != null) {
+            stats.start();
+        }
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    operation.run(random);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        if (stats != null) {
+            stats.stop();
+        }
+    }
+
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+
+    private <T> List<T> parallel(int count, IndexedTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<T>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                Callable<T> callable = () -> task.run(index);
+                futures.add(pool.submit(callable));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.uumevent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+// The connection limits on virtual threads: each physical pool (Boot's single pool, or the primary
+// and every replica of ReadReplicaConfig) is bounded by a semaphore of its own, sized to that pool,
+// so a permit always stands for one pooled connection. Wrapping the routing data source instead
+// would share one limit between all pools and take permits for connections never fetched.
+public class JdbcPermits {
+
+    private final long acquireTimeoutMillis;
+    private final Map<String, Semaphore> pools = new ConcurrentHashMap<>();
+
+    public JdbcPermits(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public DataSource bound(String poolName, HikariDataSource pool) {
+        return bound(poolName, pool, acquireTimeoutMillis);
+    }
+
+    // Fair, so a waiting request is not overtaken by every newer one.
+    public DataSource bound(String poolName, HikariDataSource pool, long acquireTimeoutMillis) {
+        Semaphore permits = new Semaphore(pool.getMaximumPoolSize(), true);
+        if (pools.putIfAbsent(poolName, permits) != null) {
+            throw new IllegalStateException("Connection pool " + poolName + " is already bounded");
+        }
+        return new BoundedDataSource(pool, permits, acquireTimeoutMillis);
+    }
+
+    public Map<String, Semaphore> pools() {
+        return Map.copyOf(pools);
+    }
+}
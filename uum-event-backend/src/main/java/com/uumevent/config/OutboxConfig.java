@@ -0,0 +1,32 @@
+package com.uumevent.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uumevent.service.outbox.HttpOutboxSink;
+import com.uumevent.service.outbox.LoggingOutboxSink;
+import com.uumevent.service.outbox.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+// Each enabled sink receives every outbox batch (see OutboxRelay).
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.http.url")
+    public OutboxSink httpOutboxSink(@Value("${outbox.sink.http.url}") String url,
+                                     @Value("${outbox.sink.http.timeout-ms:5000}") long timeoutMillis,
+                                     ObjectMapper objectMapper) {
+        return new HttpOutboxSink(URI.create(url), Duration.ofMillis(timeoutMillis), objectMapper);
+    }
+}
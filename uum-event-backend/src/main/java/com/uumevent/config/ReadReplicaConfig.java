@@ -0,0 +1,80 @@
+package com.uumevent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Active when datasource.replica.urls is set; otherwise Boot's single pool on spring.datasource.*
+// is used unchanged. The pools are not beans, so Hikari metrics are registered on them directly
+// and spring.datasource.hikari.* (pool size, timeouts) is bound to each of them here. On virtual
+// threads each pool gets its own connection permits (JdbcPermits).
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties properties,
+                                                                 @Value("${datasource.replica.urls}") List<String> replicaUrls,
+                                                                 @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                                                 @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+                                                                 @Value("${datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                                                                 @Value("${datasource.replica.retry-interval-ms:30000}") long retryIntervalMs,
+                                                                 @Value("${datasource.replica.read-your-writes-ms:5000}") long readYourWritesMs,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 ObjectProvider<VirtualThreadConfig.Permits> virtualThreadPermits) {
+        VirtualThreadConfig.Permits permits = virtualThreadPermits.getIfAvailable();
+        JdbcPermits jdbcPermits = permits == null ? null : permits.jdbc();
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        List<ReadWriteRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            // A replica that is down must not block startup or hold a request for long: its reads
+            // fall back to the primary after connectionTimeoutMs.
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            // A replica short of permits falls back to the primary as quickly as one that is down.
+            replicas.add(new ReadWriteRoutingDataSource.Replica(replica.getPoolName(),
+                    jdbcPermits == null ? replica : jdbcPermits.bound(replica.getPoolName(), replica, connectionTimeoutMs)));
+        }
+        return new ReadWriteRoutingDataSource(jdbcPermits == null ? primary : jdbcPermits.bound(primary.getPoolName(), primary),
+                replicas, Duration.ofMillis(retryIntervalMs), Duration.ofMillis(readYourWritesMs));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,135 @@
+package com.uumevent.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag of a transaction is only
+// known once it has begun, i.e. when its first statement asks for the physical connection.
+//
+// A replica that refuses connections is skipped for retryInterval and its reads go to the primary.
+// After a user commits a write, that user's reads stay on the primary for readYourWritesWindow,
+// which should exceed the usual replica lag, so e.g. a new ticket shows up in "my tickets" at once.
+// The pin is kept in this instance's memory and keyed by the authenticated user: behind a load
+// balancer it only holds for requests that reach the same instance (route by user or session to
+// rely on it), and anonymous writes are not pinned at all. Reads that must never see replica lag
+// run in a read-only transaction named PRIMARY_READ, which reads from the primary without pinning.
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // Transaction name for reads that must see every committed write, such as cache loads: an
+    // entry filled from a lagging replica after its invalidation would stay stale until the next one.
+    public static final String PRIMARY_READ = "primary-read";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public record Replica(String name, DataSource dataSource, AtomicLong downUntil) {
+        public Replica(String name, DataSource dataSource) {
+            this(name, dataSource, new AtomicLong());
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryIntervalMillis;
+    private final long readYourWritesMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> primaryPinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas, Duration retryInterval, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.retryIntervalMillis = retryInterval.toMillis();
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(user);
+            return primary.getConnection();
+        }
+        if (PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return primary.getConnection();
+        }
+        long now = System.currentTimeMillis();
+        if (user != null && primaryPinnedUntil.getOrDefault(user, 0L) > now) {
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.downUntil().get() > now) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                replica.downUntil().set(now + retryIntervalMillis);
+                logger.warn("Replica {} unavailable, routing reads to the primary for {} ms: {}", replica.name(), retryIntervalMillis, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    // Package-private for tests.
+    DataSource primary() {
+        return primary;
+    }
+
+    private void pinAfterCommit(String user) {
+        if (user == null || readYourWritesMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = System.currentTimeMillis();
+                if (primaryPinnedUntil.size() > 10_000) {
+                    primaryPinnedUntil.values().removeIf(until -> until <= now);
+                }
+                primaryPinnedUntil.put(user, now + readYourWritesMillis);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
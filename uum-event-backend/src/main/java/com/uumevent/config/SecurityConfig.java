@@ -2,6 +2,8 @@
 package com.uumevent.config;
 
 import com.uumevent.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -48,10 +50,10 @@ public class SecurityConfig {
     }
     
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -61,20 +63,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed bodies (exports, SSE) are written on an ASYNC dispatch of a request that was
+                // already authorized; the stateless JWT filter does not run again for it.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                // Signed links (TicketLinkService) or a Bearer token; TicketController checks which.
+                .requestMatchers(HttpMethod.GET, "/api/tickets/*/qr.png", "/api/tickets/*/ticket.pdf").permitAll()
+                // Only matches on the management port (management.server.port), which is not published.
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/events/my-organized", "/api/events/my-organized/**", "/api/events/*/analytics", "/api/events/*/attendees/**").hasAuthority("ROLE_ORGANIZER")
                 .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/events").hasAuthority("ROLE_ORGANIZER")
                 .requestMatchers(HttpMethod.PUT, "/api/events/**").hasAuthority("ROLE_ORGANIZER")
                 .requestMatchers(HttpMethod.DELETE, "/api/events/**").hasAuthority("ROLE_ORGANIZER")
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider());
+            .authenticationProvider(authenticationProvider);
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
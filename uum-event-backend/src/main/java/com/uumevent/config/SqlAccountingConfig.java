@@ -0,0 +1,29 @@
+package com.uumevent.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    // Only the application's DataSource is wrapped; pools behind a routing DataSource are not
+    // beans, so their statements are counted once. DelegatingDataSource is unwrapped by Boot's
+    // pool metrics, so Hikari metrics keep working.
+    @Bean
+    static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof SqlAccountingDataSource)) {
+                    return new SqlAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.uumevent.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Wraps connections so statements created while a SqlStatistics is active report their execution
+// time and the rows read through their result sets. Outside a request statements are not wrapped.
+public class SqlAccountingDataSource extends DelegatingDataSource {
+
+    public SqlAccountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    SqlStatistics statistics = SqlStatistics.current();
+                    if (statistics != null && result instanceof Statement statement) {
+                        return wrap(statement, method.getReturnType(), new StatementHandler(statement, statistics));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrap(Object target, Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record StatementHandler(Statement target, SqlStatistics statistics) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = SqlAccountingDataSource.invoke(target, method, args);
+                } finally {
+                    statistics.recordStatement(System.nanoTime() - start);
+                }
+            } else {
+                result = SqlAccountingDataSource.invoke(target, method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrap(resultSet, ResultSet.class, new ResultSetHandler(resultSet, statistics));
+            }
+            return result;
+        }
+    }
+
+    // Drivers fetch in batches from inside next(), so its time counts as database time.
+    private record ResultSetHandler(ResultSet target, SqlStatistics statistics) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().equals("next")) {
+                return SqlAccountingDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            boolean hasRow = target.next();
+            statistics.recordFetch(System.nanoTime() - start, hasRow);
+            return hasRow;
+        }
+    }
+}
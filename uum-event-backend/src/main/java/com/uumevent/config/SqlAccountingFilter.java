@@ -0,0 +1,67 @@
+package com.uumevent.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// Opens a SqlStatistics for every request, so the security filters' user lookups are counted too.
+// Each request ends with one key=value log line (DEBUG, WARN when over the statement budget).
+// The Server-Timing header is normally added by ServerTimingAdvice before the body is written;
+// responses without a body get it here.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private final int statementBudget;
+
+    public SqlAccountingFilter(@Value("${sql.statement-budget:20}") int statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, statistics.serverTiming());
+            }
+            boolean overBudget = statistics.getStatements() > statementBudget;
+            if (overBudget || log.isDebugEnabled()) {
+                String line = String.format(Locale.ROOT,
+                        "method=%s uri=%s status=%d total_ms=%.2f db_ms=%.2f statements=%d rows=%d serialize_ms=%.2f",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(), statistics.elapsedMillis(),
+                        statistics.getDbMillis(), statistics.getStatements(), statistics.getRows(),
+                        statistics.serializationMillis(System.nanoTime()));
+                if (overBudget) {
+                    log.warn("{} budget={} over_budget=true", line, statementBudget);
+                } else {
+                    log.debug(line);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.uumevent.config;
+
+import java.util.Locale;
+
+// JDBC work attributed to the current thread: statements executed, time spent in the driver
+// (executing and fetching) and rows read. SqlAccountingFilter opens one per HTTP request; work
+// handed to other threads (image workers, schedulers) is not counted.
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long handlerCompleteNanos;
+    private int statements;
+    private long dbNanos;
+    private long rows;
+
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        dbNanos += nanos;
+    }
+
+    void recordFetch(long nanos, boolean row) {
+        dbNanos += nanos;
+        if (row) {
+            rows++;
+        }
+    }
+
+    // Called once the handler returned and the body is about to be serialized.
+    void markHandlerComplete() {
+        if (handlerCompleteNanos == 0) {
+            handlerCompleteNanos = System.nanoTime();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1e6;
+    }
+
+    double elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1e6;
+    }
+
+    double serializationMillis(long endNanos) {
+        return handlerCompleteNanos == 0 ? 0 : (endNanos - handlerCompleteNanos) / 1e6;
+    }
+
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements, %d rows\", app;dur=%.2f",
+                getDbMillis(), statements, rows, elapsedMillis());
+    }
+}
@@ -0,0 +1,50 @@
+package com.uumevent.config;
+
+import com.uumevent.service.storage.LocalShardedStorageBackend;
+import com.uumevent.service.storage.S3StorageBackend;
+import com.uumevent.service.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.backend", havingValue = "local", matchIfMissing = true)
+    public StorageBackend localStorageBackend(@Value("${file.upload-dir}") String uploadDir,
+                                              @Value("${file.storage.shard-depth:2}") int shardDepth) {
+        return new LocalShardedStorageBackend(Paths.get(uploadDir), shardDepth);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.backend", havingValue = "s3")
+    public StorageBackend s3StorageBackend(@Value("${file.storage.s3.bucket}") String bucket,
+                                           @Value("${file.storage.s3.prefix:}") String prefix,
+                                           @Value("${file.storage.s3.region:us-east-1}") String region,
+                                           @Value("${file.storage.s3.endpoint:}") String endpoint,
+                                           @Value("${file.storage.s3.access-key:}") String accessKey,
+                                           @Value("${file.storage.s3.secret-key:}") String secretKey) {
+        S3ClientBuilder builder = S3Client.builder().region(Region.of(region));
+        if (!endpoint.isBlank()) {
+            // S3-compatible stand-ins (MinIO, LocalStack) need path-style bucket addressing.
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        if (!accessKey.isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        return new S3StorageBackend(builder.build(), bucket, prefix);
+    }
+}
@@ -0,0 +1,79 @@
+package com.uumevent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+// Active with spring.threads.virtual.enabled=true on Java 21 or later, where Boot already runs
+// Tomcat requests, @Async and @Scheduled work on virtual threads. Without a bounded thread pool in
+// front of them, the connection pools (see JdbcPermits) and BCrypt get their own limits here, and
+// pinned virtual threads are reported.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    public record Permits(JdbcPermits jdbc, Semaphore bcrypt) {
+    }
+
+    // The BCrypt semaphore is fair, as are the connection pools' (JdbcPermits).
+    @Bean
+    static Permits virtualThreadPermits(@Value("${threads.virtual.jdbc-acquire-timeout-ms:30000}") long acquireTimeoutMs,
+                                        @Value("${threads.virtual.bcrypt-permits:0}") int bcryptPermits) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return new Permits(new JdbcPermits(acquireTimeoutMs), new Semaphore(bcryptPermits > 0 ? bcryptPermits : cpus, true));
+    }
+
+    // Bounds Boot's own pool. The pools of ReadReplicaConfig are not beans and are bounded there;
+    // its dataSource bean, which routes between them, is left alone.
+    @Bean
+    static BeanPostProcessor virtualThreadLimitsPostProcessor(ObjectProvider<Permits> permits) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return permits.getObject().jdbc().bound(pool.getPoolName() != null ? pool.getPoolName() : beanName, pool);
+                }
+                if (bean instanceof PasswordEncoder passwordEncoder && !(bean instanceof BoundedPasswordEncoder)) {
+                    return new BoundedPasswordEncoder(passwordEncoder, permits.getObject().bcrypt());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder virtualThreadPermitMetrics(Permits permits) {
+        return registry -> {
+            permits.jdbc().pools().forEach((pool, semaphore) -> waitingGauge(registry, Tags.of("resource", "jdbc", "pool", pool), semaphore));
+            waitingGauge(registry, Tags.of("resource", "bcrypt"), permits.bcrypt());
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   @Value("${threads.virtual.pinning-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+
+    private static void waitingGauge(MeterRegistry registry, Tags tags, Semaphore semaphore) {
+        Gauge.builder("virtual.threads.permits.waiting", semaphore, Semaphore::getQueueLength)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("virtual.threads.permits.available", semaphore, Semaphore::availablePermits)
+                .tags(tags)
+                .register(registry);
+    }
+}
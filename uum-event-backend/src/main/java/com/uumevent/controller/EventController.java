@@ -2,23 +2,43 @@
 package com.uumevent.controller;
 
 import com.uumevent.dto.EventDto;
+import com.uumevent.dto.OrganizerStatsDto;
+import com.uumevent.dto.RegistrationTimeSeriesDto;
+import com.uumevent.service.AttendeeExportService;
 import com.uumevent.service.EventService;
+import com.uumevent.service.EventStatsService;
+import com.uumevent.service.RegistrationAnalyticsService;
+import com.uumevent.service.SeatUpdateBroadcaster;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
 
     private final EventService eventService;
+    private final EventStatsService eventStatsService;
+    private final RegistrationAnalyticsService registrationAnalyticsService;
+    private final SeatUpdateBroadcaster seatUpdateBroadcaster;
+    private final AttendeeExportService attendeeExportService;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventStatsService eventStatsService, RegistrationAnalyticsService registrationAnalyticsService,
+                           SeatUpdateBroadcaster seatUpdateBroadcaster, AttendeeExportService attendeeExportService) {
         this.eventService = eventService;
+        this.eventStatsService = eventStatsService;
+        this.registrationAnalyticsService = registrationAnalyticsService;
+        this.seatUpdateBroadcaster = seatUpdateBroadcaster;
+        this.attendeeExportService = attendeeExportService;
     }
 
     @PostMapping
@@ -32,9 +52,26 @@ public class EventController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        List<EventDto> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String status) {
+        if (status == null) {
+            return ResponseEntity.ok(eventService.getAllEvents());
+        }
+        try {
+            return ResponseEntity.ok(eventService.getEventsByStatus(status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Live seat counts as server-sent "seats" events, for the given events or for all of them.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatUpdates(@RequestParam(required = false) Set<Long> eventIds) {
+        Set<Long> ids = eventIds == null ? Set.of() : eventIds;
+        try {
+            return ResponseEntity.ok(seatUpdateBroadcaster.subscribe(ids, ids.isEmpty() ? List.of() : eventService.getSeatCounts(ids)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     @GetMapping("/my-organized")
@@ -43,6 +80,42 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/my-organized/stats")
+    public ResponseEntity<OrganizerStatsDto> getMyOrganizedStats(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(eventStatsService.getOrganizerStats(userDetails.getUsername()));
+    }
+
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<?> getRegistrationAnalytics(@PathVariable Long id,
+                                                      @RequestParam(defaultValue = "hour") String resolution,
+                                                      @RequestParam(defaultValue = "24") int limit,
+                                                      @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            RegistrationTimeSeriesDto series = registrationAnalyticsService.getTimeSeries(id, resolution, limit, userDetails.getUsername());
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/attendees/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        AttendeeExportService.Format exportFormat;
+        try {
+            exportFormat = AttendeeExportService.Format.fromKey(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return attendeeExportService.exportAttendees(id, exportFormat, userDetails.getUsername())
+                .map(body -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + id + "-attendees." + exportFormat.getExtension() + "\"")
+                        .body(body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody EventDto eventDto, @AuthenticationPrincipal UserDetails userDetails) {
         try {
@@ -3,6 +3,8 @@ package com.uumevent.controller;
 import com.uumevent.dto.RegistrationRequestDto;
 import com.uumevent.dto.TicketDto;
 import com.uumevent.service.RegistrationService;
+import com.uumevent.service.TicketLinkService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -10,24 +12,27 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
 public class RegistrationController {
 
     private final RegistrationService registrationService;
+    private final TicketLinkService ticketLinkService;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService, TicketLinkService ticketLinkService) {
         this.registrationService = registrationService;
+        this.ticketLinkService = ticketLinkService;
     }
 
     @PostMapping("/events/{eventId}/register")
     public ResponseEntity<?> registerForEvent(@PathVariable Long eventId,
-                                                @RequestBody RegistrationRequestDto requestDto,
+                                                @Valid @RequestBody RegistrationRequestDto requestDto,
                                                 @AuthenticationPrincipal UserDetails userDetails) {
         try {
             TicketDto ticket = registrationService.registerUserForEvent(eventId, userDetails.getUsername(), requestDto);
-            return new ResponseEntity<>(ticket, HttpStatus.CREATED);
+            return new ResponseEntity<>(ticketLinkService.withSignedLinks(ticket), HttpStatus.CREATED);
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -35,7 +40,9 @@ public class RegistrationController {
 
     @GetMapping("/my-tickets")
     public ResponseEntity<List<TicketDto>> getMyTickets(@AuthenticationPrincipal UserDetails userDetails) {
-        List<TicketDto> tickets = registrationService.getTicketsForUser(userDetails.getUsername());
+        List<TicketDto> tickets = registrationService.getTicketsForUser(userDetails.getUsername()).stream()
+                .map(ticketLinkService::withSignedLinks)
+                .collect(Collectors.toList());
         return ResponseEntity.ok(tickets);
     }
 }
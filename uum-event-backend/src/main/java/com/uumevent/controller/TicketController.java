@@ -0,0 +1,98 @@
+package com.uumevent.controller;
+
+import com.uumevent.dto.TicketDto;
+import com.uumevent.service.RegistrationService;
+import com.uumevent.service.TicketLinkService;
+import com.uumevent.service.TicketPdfRenderer;
+import com.uumevent.service.TicketQrService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+// Ticket images and printable tickets, for the ticket's owner only: either through the signed links
+// in TicketDto (for <img src> and new tabs, which send no Bearer header) or with the owner's token.
+// A ticket's code never changes and the QR URL carries the rendering version, so the image is
+// cached by the browser for good; it is private because the code is what gets the holder in.
+@RestController
+@RequestMapping("/api/tickets")
+public class TicketController {
+
+    private static final String CACHE_CONTROL_PRIVATE_IMMUTABLE = "private, max-age=31536000, immutable";
+    private static final String CACHE_CONTROL_PRIVATE_REVALIDATE = "private, no-cache";
+
+    private final RegistrationService registrationService;
+    private final TicketQrService ticketQrService;
+    private final TicketPdfRenderer ticketPdfRenderer;
+    private final TicketLinkService ticketLinkService;
+
+    public TicketController(RegistrationService registrationService, TicketQrService ticketQrService, TicketPdfRenderer ticketPdfRenderer,
+                            TicketLinkService ticketLinkService) {
+        this.registrationService = registrationService;
+        this.ticketQrService = ticketQrService;
+        this.ticketPdfRenderer = ticketPdfRenderer;
+        this.ticketLinkService = ticketLinkService;
+    }
+
+    @GetMapping("/{id}/qr.png")
+    public ResponseEntity<byte[]> getQrCode(@PathVariable Long id,
+                                            @RequestParam(required = false) Long expires,
+                                            @RequestParam(required = false) String signature,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            @AuthenticationPrincipal UserDetails userDetails) {
+        if (!authorized(id, expires, signature, userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<TicketDto> ticket = ticket(id, signature, userDetails);
+        if (ticket.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + id + "-" + ticketQrService.version() + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_PRIVATE_IMMUTABLE)
+                    .eTag(etag)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_PRIVATE_IMMUTABLE)
+                .eTag(etag)
+                .body(ticketQrService.png(ticket.get().getQrCode()));
+    }
+
+    // Not cached: the page shows event details that the organizer may still change.
+    @GetMapping("/{id}/ticket.pdf")
+    public ResponseEntity<byte[]> getTicketPdf(@PathVariable Long id,
+                                               @RequestParam(required = false) Long expires,
+                                               @RequestParam(required = false) String signature,
+                                               @AuthenticationPrincipal UserDetails userDetails) {
+        if (!authorized(id, expires, signature, userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ticket(id, signature, userDetails)
+                .map(ticket -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_PRIVATE_REVALIDATE)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"ticket-" + id + ".pdf\"")
+                        .body(ticketPdfRenderer.render(ticket)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // A signature, when given, must be valid and unexpired, even for a caller with a token.
+    private boolean authorized(Long id, Long expires, String signature, UserDetails userDetails) {
+        if (signature != null) {
+            return expires != null && ticketLinkService.verify(id, expires, signature);
+        }
+        return userDetails != null;
+    }
+
+    private Optional<TicketDto> ticket(Long id, String signature, UserDetails userDetails) {
+        return signature != null ? registrationService.findTicket(id) : registrationService.findTicketForUser(id, userDetails.getUsername());
+    }
+}
@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class EventDto {
@@ -21,6 +22,7 @@ public class EventDto {
     private Integer maxAttendees;
     private Integer currentAttendees;
     private String imageUrl;
+    private Map<String, String> imageVariants; // "thumbnail", "card", "hero" once generated
     private String status;
     private UserDto organizer;
     private List<String> tags;
@@ -0,0 +1,13 @@
+package com.uumevent.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+public class EventStatsDto {
+    private Long eventId;
+    private int registrations;
+    private int capacity;
+    private BigDecimal revenue;
+    private double fillRate; // registrations / capacity, 0 when the capacity is unknown
+}
@@ -5,11 +5,13 @@ import lombok.Data;
 @Data
 public class JwtAuthenticationResponse {
     private String token;
+    private String refreshToken;
     private String tokenType = "Bearer";
     private UserDto user;
 
-    public JwtAuthenticationResponse(String token, UserDto user) {
+    public JwtAuthenticationResponse(String token, String refreshToken, UserDto user) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.user = user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.uumevent.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class OrganizerStatsDto {
+    private int events;
+    private int registrations;
+    private int capacity;
+    private BigDecimal revenue;
+    private double fillRate;
+    private List<EventStatsDto> eventStats;
+}
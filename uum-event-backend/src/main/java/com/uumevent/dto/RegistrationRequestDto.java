@@ -1,11 +1,21 @@
 package com.uumevent.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
 public class RegistrationRequestDto {
+    @Size(max = 255)
     private String name;
+
+    @Email
+    @Size(max = 255)
     private String email;
+
+    @Size(max = 50)
     private String phone;
+
+    @Size(max = 1000)
     private String specialRequests;
 }
\ No newline at end of file
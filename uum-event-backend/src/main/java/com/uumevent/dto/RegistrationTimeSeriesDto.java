@@ -0,0 +1,16 @@
+package com.uumevent.dto;
+
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class RegistrationTimeSeriesDto {
+    private Long eventId;
+    private String resolution;
+    private int total; // registrations within the returned buckets
+    private List<Point> buckets; // oldest first, empty buckets included
+
+    public record Point(Instant start, int registrations) {
+    }
+}
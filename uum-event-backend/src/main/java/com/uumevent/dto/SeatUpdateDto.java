@@ -0,0 +1,16 @@
+package com.uumevent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payload of the "seats" server-sent event.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatUpdateDto {
+    private Long eventId;
+    private int currentAttendees;
+    private int maxAttendees;
+    private boolean soldOut;
+}
@@ -9,7 +9,7 @@ import java.time.Instant;
 import java.time.LocalTime; // Import LocalTime
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class TicketDto {
     private Long id;
     private String eventTitle;
@@ -25,4 +25,9 @@ public class TicketDto {
     private String eventVenue;
     private String eventImageUrl;
     private LocalTime eventTime;
+
+    // Server-rendered QR image (cacheable forever) and printable ticket; signed for the browser
+    // by TicketLinkService in API responses
+    private String qrImageUrl;
+    private String pdfUrl;
 }
\ No newline at end of file
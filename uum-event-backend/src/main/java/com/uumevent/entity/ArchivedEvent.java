@@ -0,0 +1,37 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Read-only copy of an Event moved out of the hot tables by EventArchiveService.
+@Data
+@Entity
+@Table(name = "archived_events")
+public class ArchivedEvent {
+    @Id
+    private Long id;
+
+    private String title;
+    private String shortDescription;
+    // As in Event.
+    @Column(columnDefinition = "longtext")
+    private String description;
+    private LocalDate date;
+    private LocalTime time;
+    private String location;
+    private String venue;
+    private String category;
+    private BigDecimal price;
+    private Integer maxAttendees;
+    private Integer currentAttendees;
+    private String imageUrl;
+    private String status;
+    private Long imageAssetId;
+    private Long organizerId;
+    private Instant createdAt;
+    private Instant archivedAt;
+}
@@ -0,0 +1,26 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "archived_registrations")
+public class ArchivedRegistration {
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private ArchivedEvent event;
+
+    private String status;
+    private String attendeeName;
+    private String attendeeEmail;
+    private String attendeePhone;
+    private String specialRequests;
+    private Instant registrationDate;
+}
@@ -0,0 +1,24 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "archived_tickets")
+public class ArchivedTicket {
+    @Id
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "registration_id", nullable = false)
+    private ArchivedRegistration registration;
+
+    private String qrCode;
+    private String status;
+    private BigDecimal price;
+    private String ticketType;
+    private Instant purchaseDate;
+}
@@ -0,0 +1,27 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "cache_invalidations")
+public class CacheInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String region; // "events", "users", "tickets", "revoked-tokens"
+
+    @Column(name = "entry_key", nullable = false)
+    private String entryKey; // "*" for the whole region
+
+    @Column(nullable = false, length = 36)
+    private String origin; // instance that appended the row
+
+    // Set by the database (CURRENT_TIMESTAMP(6)) on insert.
+    @Column(nullable = false)
+    private Instant createdAt;
+}
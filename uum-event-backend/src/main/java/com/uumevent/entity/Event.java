@@ -7,13 +7,24 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Data
 @Entity
-@Table(name = "events")
+@Table(name = "events", uniqueConstraints = {
+    @UniqueConstraint(name = Event.NATURAL_KEY_CONSTRAINT, columnNames = {"title", "date", "location"})
+})
 public class Event {
     // ... most fields are unchanged ...
+
+    public static final String NATURAL_KEY_CONSTRAINT = "uk_events_title_date_location";
+
+    public static final String STATUS_UPCOMING = "upcoming";
+    public static final String STATUS_SOLD_OUT = "sold-out";
+    public static final String STATUS_ONGOING = "ongoing";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final List<String> STATUSES = List.of(STATUS_UPCOMING, STATUS_SOLD_OUT, STATUS_ONGOING, STATUS_COMPLETED);
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,7 +32,9 @@ public class Event {
 
     private String title;
     private String shortDescription;
-    @Lob
+    // longtext (V11). Not a @Lob: schema validation would then expect a clob, whereas H2 in MySQL
+    // mode stores text columns as varchar.
+    @Column(columnDefinition = "longtext")
     private String description;
     private LocalDate date;
     private LocalTime time;
@@ -32,7 +45,11 @@ public class Event {
     private Integer maxAttendees;
     private Integer currentAttendees = 0;
     private String imageUrl;
-    private String status;
+    private String status; // one of STATUSES, moved along by EventLifecycleService
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "image_asset_id")
+    private ImageAsset imageAsset;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
@@ -0,0 +1,26 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Running totals for one event, kept in step with its registrations by EventStatsService.
+@Data
+@Entity
+@Table(name = "event_stats")
+public class EventStats {
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long organizerId;
+
+    private int registrations;
+    private int capacity;
+
+    @Column(nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    private Instant updatedAt;
+}
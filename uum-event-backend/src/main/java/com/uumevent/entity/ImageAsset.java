@@ -0,0 +1,31 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+// An uploaded image together with the resized derivatives generated for it in the background.
+@Data
+@Entity
+@Table(name = "image_assets")
+public class ImageAsset {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String originalPath; // e.g. "/uploads/<uuid>_photo.jpg"
+
+    private String status; // "pending", "ready", "failed"
+    private String thumbnailPath;
+    private String cardPath;
+    private String heroPath;
+    private Integer width;
+    private Integer height;
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
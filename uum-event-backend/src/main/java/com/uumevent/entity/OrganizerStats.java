@@ -0,0 +1,24 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Running totals over all events of one organizer.
+@Data
+@Entity
+@Table(name = "organizer_stats")
+public class OrganizerStats {
+    @Id
+    private Long organizerId;
+
+    private int events;
+    private int registrations;
+    private int capacity;
+
+    @Column(nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    private Instant updatedAt;
+}
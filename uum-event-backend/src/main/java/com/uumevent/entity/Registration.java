@@ -27,6 +27,15 @@ public class Registration {
     private Ticket ticket;
     
     private String status; // "confirmed", "pending", "cancelled"
+
+    // Contact details as entered on the registration form
+    private String attendeeName;
+    private String attendeeEmail;
+    @Column(length = 50)
+    private String attendeePhone;
+    @Column(length = 1000)
+    private String specialRequests;
+
     private Instant registrationDate;
 
     @PrePersist
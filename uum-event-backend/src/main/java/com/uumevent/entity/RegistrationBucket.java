@@ -0,0 +1,36 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.Instant;
+
+// Checkpointed count of registrations for one event in one time bucket.
+@Data
+@Entity
+@Table(name = "registration_buckets")
+@IdClass(RegistrationBucket.Key.class)
+public class RegistrationBucket {
+    @Id
+    private Long eventId;
+
+    @Id
+    @Column(length = 8)
+    private String resolution; // "minute", "hour" or "day"
+
+    @Id
+    private Instant bucketStart;
+
+    private int registrations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long eventId;
+        private String resolution;
+        private Instant bucketStart;
+    }
+}
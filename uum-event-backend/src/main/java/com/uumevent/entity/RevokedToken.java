@@ -0,0 +1,19 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+// Denylist entry for an access token that was revoked before it expired.
+// Rows can be purged once expiresAt has passed, since the token is rejected anyway.
+@Data
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,34 @@
+package com.uumevent.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+// A content-addressed upload. Identical uploads share one row and one file on disk;
+// refCount tracks how many events currently point at it.
+@Data
+@Entity
+@Table(name = "stored_files")
+public class StoredFile {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String contentHash; // SHA-256, hex encoded
+
+    @Column(nullable = false, unique = true)
+    private String path; // e.g. "/uploads/<hash>.jpg"
+
+    private String contentType;
+    private Long size;
+    private int refCount;
+    private Instant createdAt;
+    private Instant lastUploadedAt; // refreshed on every deduplicated upload
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        lastUploadedAt = createdAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.ArchivedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// The archive statements copy and delete whole sets of rows by event id. They must run in one
+// transaction per batch (see EventArchiveService), children before parents.
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+    @Query("SELECT e.imageUrl FROM ArchivedEvent e WHERE e.imageUrl IS NOT NULL")
+    List<String> findAllImageUrls();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "INSERT INTO archived_events (id, title, short_description, description, date, time, location, venue, category, price, " +
+                   "max_attendees, current_attendees, image_url, status, image_asset_id, organizer_id, created_at, archived_at) " +
+                   "SELECT id, title, short_description, description, date, time, location, venue, category, price, " +
+                   "max_attendees, current_attendees, image_url, status, image_asset_id, organizer_id, created_at, :archivedAt " +
+                   "FROM events WHERE id IN (:eventIds)",
+           nativeQuery = true)
+    int copyEvents(Collection<Long> eventIds, Instant archivedAt);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "INSERT INTO archived_event_tags (event_id, tag_id) SELECT event_id, tag_id FROM event_tags WHERE event_id IN (:eventIds)",
+           nativeQuery = true)
+    int copyEventTags(Collection<Long> eventIds);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "INSERT INTO archived_registrations (id, user_id, event_id, registration_date, status, " +
+                   "attendee_name, attendee_email, attendee_phone, special_requests) " +
+                   "SELECT id, user_id, event_id, registration_date, status, attendee_name, attendee_email, attendee_phone, special_requests " +
+                   "FROM registrations WHERE event_id IN (:eventIds)",
+           nativeQuery = true)
+    int copyRegistrations(Collection<Long> eventIds);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "INSERT INTO archived_tickets (id, registration_id, qr_code, ticket_type, price, purchase_date, status) " +
+                   "SELECT t.id, t.registration_id, t.qr_code, t.ticket_type, t.price, t.purchase_date, t.status " +
+                   "FROM tickets t JOIN registrations r ON r.id = t.registration_id WHERE r.event_id IN (:eventIds)",
+           nativeQuery = true)
+    int copyTickets(Collection<Long> eventIds);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "DELETE FROM tickets WHERE registration_id IN (SELECT id FROM registrations WHERE event_id IN (:eventIds))",
+           nativeQuery = true)
+    int deleteTickets(Collection<Long> eventIds);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "DELETE FROM registrations WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int deleteRegistrations(Collection<Long> eventIds);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "DELETE FROM event_tags WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int deleteEventTags(Collection<Long> eventIds);
+
+    // event_stats rows go with their event (on delete cascade); organizer totals keep counting them.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "DELETE FROM events WHERE id IN (:eventIds)", nativeQuery = true)
+    int deleteEvents(Collection<Long> eventIds);
+}
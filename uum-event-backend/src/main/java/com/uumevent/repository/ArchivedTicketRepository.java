@@ -0,0 +1,11 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
+
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+    @Query("SELECT t FROM ArchivedTicket t JOIN FETCH t.registration r JOIN FETCH r.event WHERE r.userId = :userId")
+    List<ArchivedTicket> findByUserId(Long userId);
+}
@@ -0,0 +1,36 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    // Appended in the transaction of the write it describes, stamped with the database clock.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "INSERT INTO cache_invalidations (region, entry_key, origin, created_at) " +
+                   "VALUES (:region, :entryKey, :origin, CURRENT_TIMESTAMP(6))",
+           nativeQuery = true)
+    int append(String region, String entryKey, String origin);
+
+    // Oldest first, served by idx_cache_invalidations_created_at. Runs outside a read-only
+    // transaction, so it always reads the primary rather than a lagging replica.
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.createdAt >= :since ORDER BY c.createdAt, c.id")
+    List<CacheInvalidation> findSince(Instant since, Pageable pageable);
+
+    @Query("SELECT MAX(c.createdAt) FROM CacheInvalidation c")
+    Optional<Instant> findLatestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(Instant cutoff);
+}
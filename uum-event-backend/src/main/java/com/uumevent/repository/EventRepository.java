@@ -3,17 +3,78 @@ package com.uumevent.repository;
 
 import com.uumevent.entity.Event;
 import com.uumevent.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findByOrganizer(User organizer);
+    // Listings resolve ids here and take the events from EventService's cache. Read-only, so that
+    // callers without a transaction of their own (EventService's listings) read from a replica.
+    @Transactional(readOnly = true)
+    @Query("SELECT e.id FROM Event e")
+    List<Long> findAllIds();
 
-    Optional<Event> findByTitleAndDateAndLocation(String title, LocalDate date, String location);
+    @Transactional(readOnly = true)
+    @Query("SELECT e.id FROM Event e WHERE e.organizer = :organizer")
+    List<Long> findIdsByOrganizer(User organizer);
 
-    // This method is essential for the update functionality to work correctly.
-    Optional<Event> findByTitleAndDateAndLocationAndIdNot(String title, LocalDate date, String location, Long id);
+    @Transactional(readOnly = true)
+    @Query("SELECT e.id FROM Event e WHERE e.status = :status")
+    List<Long> findIdsByStatus(String status);
+
+    // Cache misses: everything EventService maps into an EventDto, in one query.
+    @EntityGraph(attributePaths = { "organizer", "tags", "imageAsset" })
+    List<Event> findWithDetailsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT e.imageUrl FROM Event e WHERE e.imageUrl IS NOT NULL")
+    List<String> findAllImageUrls();
+
+    @Query("SELECT e.organizer.email FROM Event e WHERE e.id = :id")
+    Optional<String> findOrganizerEmailById(Long id);
+
+    // Oldest first, served by idx_events_date. Locks the rows until the caller's transaction ends;
+    // rows another instance's archive run has locked are skipped rather than waited for, so runs
+    // on several nodes archive disjoint batches.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT id FROM events WHERE date < :cutoff ORDER BY date, id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> claimIdsByDateBefore(LocalDate cutoff, int batchSize);
+
+    // Status transitions for EventLifecycleService. Each statement touches at most :batchSize rows,
+    // located through idx_events_status_date, and is repeated until it updates fewer.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET status = 'completed' WHERE status IN ('upcoming', 'sold-out', 'ongoing') AND date < :today LIMIT :batchSize",
+           nativeQuery = true)
+    int markCompleted(LocalDate today, int batchSize);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET status = 'ongoing' WHERE status IN ('upcoming', 'sold-out') AND date = :today " +
+                   "AND (time IS NULL OR time <= :now) LIMIT :batchSize",
+           nativeQuery = true)
+    int markOngoing(LocalDate today, LocalTime now, int batchSize);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET status = 'sold-out' WHERE status = 'upcoming' AND date >= :today " +
+                   "AND current_attendees >= max_attendees LIMIT :batchSize",
+           nativeQuery = true)
+    int markSoldOut(LocalDate today, int batchSize);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET status = 'upcoming' WHERE status = 'sold-out' AND date >= :today " +
+                   "AND current_attendees < max_attendees LIMIT :batchSize",
+           nativeQuery = true)
+    int reopenSoldOut(LocalDate today, int batchSize);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.EventStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public interface EventStatsRepository extends JpaRepository<EventStats, Long> {
+    List<EventStats> findByOrganizerId(Long organizerId);
+
+    // A plain INSERT: save() on an entity with an assigned id merges, which SELECTs the row first.
+    @Modifying
+    @Query(value = "INSERT INTO event_stats (event_id, organizer_id, registrations, capacity, revenue, updated_at) " +
+                   "VALUES (:eventId, :organizerId, 0, :capacity, 0, :now)",
+           nativeQuery = true)
+    void insert(Long eventId, Long organizerId, int capacity, Instant now);
+
+    // Native: Hibernate renders the BigDecimal parameter in JPQL arithmetic as an unsized cast H2 rejects.
+    @Modifying
+    @Query(value = "UPDATE event_stats SET registrations = registrations + :delta, revenue = revenue + :revenue, updated_at = :now WHERE event_id = :eventId",
+           nativeQuery = true)
+    int adjustRegistrations(Long eventId, int delta, BigDecimal revenue, Instant now);
+
+    @Modifying
+    @Query("UPDATE EventStats s SET s.capacity = :capacity, s.updatedAt = :now WHERE s.eventId = :eventId")
+    int updateCapacity(Long eventId, int capacity, Instant now);
+}
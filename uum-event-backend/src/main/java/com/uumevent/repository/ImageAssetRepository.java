@@ -0,0 +1,11 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.ImageAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, Long> {
+    Optional<ImageAsset> findByOriginalPath(String originalPath);
+
+    boolean existsByOriginalPath(String originalPath);
+}
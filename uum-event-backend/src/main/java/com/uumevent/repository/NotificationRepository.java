@@ -0,0 +1,26 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.Notification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    // Pending mail whose (next) attempt is due, served by idx_notifications_status_next_attempt.
+    // Rows another node is claiming are skipped; once claimed (postponed), they are no longer due.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT * FROM notifications WHERE status = 'pending' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Notification> claimDue(Instant now, int batchSize);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.nextAttemptAt = :until WHERE n.id IN :ids")
+    int postpone(Collection<Long> ids, Instant until);
+}
@@ -0,0 +1,21 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.OrganizerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface OrganizerStatsRepository extends JpaRepository<OrganizerStats, Long> {
+    // One upsert, so an organizer's first event or registration cannot race another one into a
+    // duplicate-key failure. Native for the same reason as EventStatsRepository.adjustRegistrations.
+    @Modifying
+    @Query(value = "INSERT INTO organizer_stats (organizer_id, events, registrations, capacity, revenue, updated_at) " +
+                   "VALUES (:organizerId, :events, :registrations, :capacity, :revenue, :now) " +
+                   "ON DUPLICATE KEY UPDATE events = events + :events, registrations = registrations + :registrations, " +
+                   "capacity = capacity + :capacity, revenue = revenue + :revenue, updated_at = :now",
+           nativeQuery = true)
+    void adjust(Long organizerId, int events, int registrations, int capacity, BigDecimal revenue, Instant now);
+}
@@ -0,0 +1,36 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Locks the oldest rows that are unclaimed or whose claim has expired until the caller's
+    // transaction ends, for markClaimed; rows locked by another relay are skipped rather than
+    // waited for, so several nodes can claim side by side.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT * FROM outbox_events WHERE claimed_until IS NULL OR claimed_until < :now " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimBatch(int batchSize, Instant now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :claim, e.claimedUntil = :until WHERE e.id IN :ids")
+    int markClaimed(Collection<Long> ids, String claim, Instant until);
+
+    // Both only touch rows still held by the given claim, not ones another relay has taken over.
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids AND e.claimedBy = :claim")
+    int release(Collection<Long> ids, String claim);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids AND e.claimedBy = :claim")
+    int deleteClaimed(Collection<Long> ids, String claim);
+}
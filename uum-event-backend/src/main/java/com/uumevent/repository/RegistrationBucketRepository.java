@@ -0,0 +1,42 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.RegistrationBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RegistrationBucketRepository extends JpaRepository<RegistrationBucket, RegistrationBucket.Key> {
+    List<RegistrationBucket> findByBucketStartGreaterThanEqual(Instant since);
+
+    // Adds to the bucket, so every instance can checkpoint the registrations it served.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO registration_buckets (event_id, resolution, bucket_start, registrations) " +
+                   "VALUES (:eventId, :resolution, :bucketStart, :registrations) " +
+                   "ON DUPLICATE KEY UPDATE registrations = registrations + :registrations",
+           nativeQuery = true)
+    void add(Long eventId, String resolution, Instant bucketStart, int registrations);
+
+    // Keeps an existing bucket as it is (another instance seeded it first).
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO registration_buckets (event_id, resolution, bucket_start, registrations) " +
+                   "VALUES (:eventId, :resolution, :bucketStart, :registrations) " +
+                   "ON DUPLICATE KEY UPDATE registrations = registrations",
+           nativeQuery = true)
+    void insertIfAbsent(Long eventId, String resolution, Instant bucketStart, int registrations);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RegistrationBucket b WHERE b.resolution = :resolution AND b.bucketStart < :cutoff")
+    int deleteOlderThan(String resolution, Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RegistrationBucket b WHERE b.eventId = :eventId")
+    int deleteByEventId(Long eventId);
+}
@@ -4,9 +4,17 @@ import com.uumevent.entity.Event;
 import com.uumevent.entity.Registration;
 import com.uumevent.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     // Check if a user is already registered for an event
     boolean existsByUserAndEvent(User user, Event event);
+
+    // Event id and registration time of every registration since the given instant.
+    @Query("SELECT r.event.id, r.registrationDate FROM Registration r WHERE r.registrationDate >= :since")
+    List<Object[]> findRegistrationTimesSince(Instant since);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.uumevent.repository;
+
+import com.uumevent.entity.StoredFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+    Optional<StoredFile> findByContentHash(String contentHash);
+
+    Optional<StoredFile> findByPath(String path);
+
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + :delta WHERE f.path = :path")
+    int adjustRefCount(String path, int delta);
+
+    // A deduplicated upload restarts the file's grace period. The update waits for a collection of
+    // the row in progress (UploadGarbageCollector) and then finds nothing to update.
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.lastUploadedAt = :now WHERE f.id = :id")
+    int touch(Long id, Instant now);
+
+    // Only while no event write has changed the count since the collector read it.
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = :refCount WHERE f.id = :id AND f.refCount = :seen")
+    int correctRefCount(Long id, int seen, int refCount);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.id = :id")
+    Optional<StoredFile> findLockedById(Long id);
+}
@@ -5,9 +5,14 @@ import com.uumevent.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    // A query to find tickets belonging to a specific user by joining through the registration
-    @Query("SELECT t FROM Ticket t WHERE t.registration.user = :user")
+    // A query to find tickets belonging to a specific user by joining through the registration,
+    // fetching the event and its image that each ticket is shown with
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.registration r JOIN FETCH r.event e LEFT JOIN FETCH e.imageAsset WHERE r.user = :user")
     List<Ticket> findByUser(User user);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.registration r JOIN FETCH r.event e LEFT JOIN FETCH e.imageAsset WHERE t.id = :id")
+    Optional<Ticket> findWithEventById(Long id);
 }
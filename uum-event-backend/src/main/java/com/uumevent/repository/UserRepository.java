@@ -2,9 +2,14 @@ package com.uumevent.repository;
 
 import com.uumevent.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Declared query methods get no transaction by default; outside a caller's transaction this one
+    // is read-only and so goes to a replica.
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.uumevent.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uumevent.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Optional;
+
+// Attendee lists streamed straight from a forward-only, read-only JDBC cursor to the response:
+// each row is written as soon as it is read and never becomes an entity, so memory stays flat
+// however many attendees an event has. The connection is only taken once the response starts
+// streaming and is returned as soon as the last row has been written. The export runs in a
+// read-only transaction, so it is served by a read replica when one is configured.
+@Service
+public class AttendeeExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromKey(String key) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(key)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export format: " + key);
+        }
+    }
+
+    private static final String[] COLUMNS = {"registrationId", "name", "email", "phone", "specialRequests", "status", "registeredAt", "ticketCode", "ticketType", "price"};
+
+    // Ordered by registrations.id so the rows come off idx_registrations_event in index order.
+    private static final String ATTENDEES_SQL =
+            "SELECT r.id, COALESCE(r.attendee_name, u.name), COALESCE(r.attendee_email, u.email), r.attendee_phone, r.special_requests, " +
+            "r.status, r.registration_date, t.qr_code, t.ticket_type, t.price " +
+            "FROM registrations r JOIN users u ON u.id = r.user_id LEFT JOIN tickets t ON t.registration_id = r.id " +
+            "WHERE r.event_id = ? ORDER BY r.id";
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AttendeeExportService(EventRepository eventRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper, @Value("${export.fetch-size:500}") int fetchSize) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // Checks ownership up front, so errors are reported before any byte of the body is written.
+    // Empty when the event does not exist.
+    public Optional<StreamingResponseBody> exportAttendees(Long eventId, Format format, String organizerEmail) {
+        Optional<String> organizer = eventRepository.findOrganizerEmailById(eventId);
+        if (organizer.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!organizer.get().equals(organizerEmail)) {
+            throw new AccessDeniedException("You are not the organizer of this event.");
+        }
+        return Optional.of(outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                if (format == Format.CSV) {
+                    writeCsv(eventId, outputStream);
+                } else {
+                    writeNdjson(eventId, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private void writeCsv(Long eventId, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        streamRows(eventId, resultSet -> {
+            try {
+                for (int column = 1; column <= COLUMNS.length; column++) {
+                    if (column > 1) {
+                        writer.write(',');
+                    }
+                    writer.write(csvField(value(resultSet, column)));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeNdjson(Long eventId, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        streamRows(eventId, resultSet -> {
+            try {
+                generator.writeStartObject();
+                for (int column = 1; column <= COLUMNS.length; column++) {
+                    Object value = value(resultSet, column);
+                    if (value instanceof Long number) {
+                        generator.writeNumberField(COLUMNS[column - 1], number);
+                    } else if (value instanceof BigDecimal number) {
+                        generator.writeNumberField(COLUMNS[column - 1], number);
+                    } else {
+                        generator.writeStringField(COLUMNS[column - 1], (String) value);
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void streamRows(Long eventId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ATTENDEES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSizeFor(connection));
+            statement.setLong(1, eventId);
+            return statement;
+        }, handler);
+    }
+
+    // MySQL Connector/J reads the whole result into memory unless the URL enables server-side
+    // cursors (useCursorFetch=true) or the fetch size is Integer.MIN_VALUE (row-by-row streaming).
+    private int fetchSizeFor(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        String url = connection.getMetaData().getURL();
+        if (product != null && product.toLowerCase(Locale.ROOT).contains("mysql")
+                && (url == null || !url.toLowerCase(Locale.ROOT).contains("usecursorfetch=true"))) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    private static Object value(ResultSet resultSet, int column) throws SQLException {
+        return switch (column) {
+            case 1 -> resultSet.getLong(column);
+            case 7 -> {
+                Timestamp registeredAt = resultSet.getTimestamp(column);
+                yield registeredAt == null ? null : registeredAt.toInstant().toString();
+            }
+            case 10 -> resultSet.getBigDecimal(column);
+            default -> resultSet.getString(column);
+        };
+    }
+
+    // RFC 4180 quoting; values starting with a formula character are prefixed with a quote so
+    // spreadsheets do not evaluate them.
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -5,14 +5,29 @@ import com.uumevent.dto.JwtAuthenticationResponse;
 import com.uumevent.dto.LoginRequest;
 import com.uumevent.dto.SignUpRequest;
 import com.uumevent.dto.UserDto;
+import com.uumevent.entity.RefreshToken;
 import com.uumevent.entity.User;
+import com.uumevent.repository.RefreshTokenRepository;
 import com.uumevent.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
 
 @Service
 public class AuthService {
@@ -22,16 +37,28 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsServiceImpl userDetailsService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final SecureRandom secureRandom = new SecureRandom();
 
+    @Value("${jwt.refresh-token-expiration-ms:1209600000}")
+    private long refreshTokenExpirationMs;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, UserDetailsServiceImpl userDetailsService) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, UserDetailsServiceImpl userDetailsService,
+                       RefreshTokenRepository refreshTokenRepository, TokenRevocationService tokenRevocationService,
+                       CacheCoherenceService cacheCoherenceService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.cacheCoherenceService = cacheCoherenceService;
     }
 
+    @Transactional
     public User register(SignUpRequest signUpRequest) {
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
             throw new IllegalArgumentException("Email address already in use.");
@@ -43,9 +70,13 @@ public class AuthService {
         user.setRole(signUpRequest.getRole());
         user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // A failed login for this address may have been looked up (and missed) just before.
+        cacheCoherenceService.invalidate(CacheCoherenceService.USERS, savedUser.getEmail());
+        return savedUser;
     }
 
+    @Transactional
     public JwtAuthenticationResponse login(LoginRequest loginRequest) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
@@ -54,15 +85,72 @@ public class AuthService {
         final User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
 
+        return issueTokens(user, userDetails);
+    }
+
+    // Refresh tokens are single-use: each refresh revokes the presented token and issues a new pair.
+    @Transactional
+    public JwtAuthenticationResponse refresh(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+        if (refreshTokenRepository.revokeIfValid(tokenHash, Instant.now()) != 1) {
+            throw new IllegalArgumentException("Invalid or expired refresh token");
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(tokenHash).orElseThrow();
+
+        User user = stored.getUser();
+        return issueTokens(user, userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken)).ifPresent(t -> t.setRevoked(true));
+        }
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtService.parseClaims(accessToken);
+                tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+            } catch (JwtException e) {
+                // An expired or malformed access token cannot be used anyway.
+            }
+        }
+    }
+
+    private JwtAuthenticationResponse issueTokens(User user, UserDetails userDetails) {
         final String jwt = jwtService.generateToken(userDetails);
-        
+
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(Instant.now().plusMillis(refreshTokenExpirationMs));
+        refreshTokenRepository.save(refreshToken);
+
         UserDto userDto = UserDto.builder()
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
                 .role(user.getRole())
                 .build();
-                
-        return new JwtAuthenticationResponse(jwt, userDto);
+
+        return new JwtAuthenticationResponse(jwt, token, userDto);
+    }
+
+    // Refresh tokens are 256 random bits, so an unsalted fast hash is enough to make a leaked
+    // refresh_tokens table useless without slowing down every refresh.
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Scheduled(cron = "${jwt.refresh-token-purge-cron:0 0 3 * * *}")
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpired(Instant.now());
     }
 }
\ No newline at end of file
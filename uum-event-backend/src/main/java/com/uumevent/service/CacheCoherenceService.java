@@ -0,0 +1,238 @@
+package com.uumevent.service;
+
+import com.uumevent.config.ReadWriteRoutingDataSource;
+import com.uumevent.entity.CacheInvalidation;
+import com.uumevent.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Keeps the in-process caches of every backend instance consistent with the database. A write
+// appends the entries it changes to cache_invalidations in its own transaction and evicts them
+// locally once it commits; every instance polls the table and evicts the entries the others
+// appended, so an instance serves data at most about one poll interval old.
+//
+// Rows are read by their database timestamp, re-reading commit-grace-ms before the newest one seen:
+// a transaction that appended a row before a newer one but committed after it is still picked up.
+// An instance that has not caught up with the table for max-staleness-ms (database unreachable,
+// paused JVM) stops serving from its caches and clears them once it is back in touch.
+//
+// Cache loads run in a read-only transaction of their own on the primary (see CoherentCache), so
+// callers should not hold a transaction around them: it would keep a second connection open.
+@Service
+public class CacheCoherenceService {
+
+    public static final String EVENTS = "events";
+    public static final String USERS = "users";
+    public static final String TICKETS = "tickets";
+    public static final String REVOKED_TOKENS = "revoked-tokens";
+    // Entry key of an invalidation that covers the whole region.
+    public static final String ALL = "*";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCoherenceService.class);
+    private static final int MAX_PAGES_PER_POLL = 10;
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final TransactionTemplate primaryReads;
+    private final Duration commitGrace;
+    private final long maxStalenessMs;
+    private final Duration retention;
+    private final int batchSize;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, CoherentCache<?>> caches = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<Set<String>>>> remoteListeners = new ConcurrentHashMap<>();
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    // Poll state, only touched by the (single) poll run.
+    private final Map<Long, Instant> recentlyApplied = new HashMap<>();
+    private volatile Instant watermark = Instant.EPOCH; // newest created_at seen, database clock
+    private volatile long caughtUpAt = System.currentTimeMillis(); // local clock
+
+    public CacheCoherenceService(CacheInvalidationRepository cacheInvalidationRepository,
+                                 MeterRegistry meterRegistry,
+                                 Environment environment,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${cache.coherence.commit-grace-ms:10000}") long commitGraceMs,
+                                 @Value("${cache.coherence.max-staleness-ms:15000}") long maxStalenessMs,
+                                 @Value("${cache.coherence.retention-ms:3600000}") long retentionMs,
+                                 @Value("${cache.coherence.batch-size:1000}") int batchSize) {
+        if (retentionMs <= commitGraceMs + maxStalenessMs) {
+            throw new IllegalArgumentException("cache.coherence.retention-ms must exceed commit-grace-ms plus max-staleness-ms");
+        }
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReads.setReadOnly(true);
+        this.primaryReads.setName(ReadWriteRoutingDataSource.PRIMARY_READ);
+        this.commitGrace = Duration.ofMillis(commitGraceMs);
+        this.maxStalenessMs = maxStalenessMs;
+        this.retention = Duration.ofMillis(retentionMs);
+        this.batchSize = batchSize;
+        this.localInvalidations = invalidations(meterRegistry, "local");
+        this.remoteInvalidations = invalidations(meterRegistry, "remote");
+        Gauge.builder("cache.coherence.lag", this, service -> (System.currentTimeMillis() - service.caughtUpAt) / 1000.0)
+                .description("Seconds since this instance last read every pending cache invalidation")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // Invalidations from before this instance started cannot concern its (empty) caches.
+    @PostConstruct
+    public void init() {
+        watermark = cacheInvalidationRepository.findLatestCreatedAt().orElse(Instant.EPOCH);
+        caughtUpAt = System.currentTimeMillis();
+    }
+
+    // Sized by cache.<region>.max-entries.
+    @SuppressWarnings("unchecked")
+    public <V> CoherentCache<V> register(String region) {
+        int maxEntries = environment.getProperty("cache." + region + ".max-entries", Integer.class, 10000);
+        return (CoherentCache<V>) caches.computeIfAbsent(region,
+                name -> new CoherentCache<V>(name, maxEntries, this::isCoherent, primaryReads, meterRegistry));
+    }
+
+    // Called on the poll thread with the keys other instances invalidated in the region (possibly
+    // ALL), after the local caches have dropped them.
+    public void onRemoteInvalidation(String region, Consumer<Set<String>> listener) {
+        remoteListeners.computeIfAbsent(region, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public boolean isCoherent() {
+        return System.currentTimeMillis() - caughtUpAt <= maxStalenessMs;
+    }
+
+    // Joins the caller's transaction (or starts one): the row is only visible, and the local entry
+    // only evicted, if the write commits.
+    @Transactional
+    public void invalidate(String region, String key) {
+        append(region, key);
+    }
+
+    @Transactional
+    public void invalidateAll(String region) {
+        append(region, ALL);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.coherence.poll-interval-ms:1000}")
+    public void poll() {
+        boolean wasCoherent = isCoherent();
+        Map<String, Set<String>> remote = new HashMap<>();
+        boolean caughtUp = false;
+        try {
+            Instant since = watermark.minus(commitGrace);
+            for (int page = 0; page < MAX_PAGES_PER_POLL && !caughtUp; page++) {
+                List<CacheInvalidation> rows = cacheInvalidationRepository.findSince(since, PageRequest.of(0, batchSize));
+                for (CacheInvalidation row : rows) {
+                    if (recentlyApplied.putIfAbsent(row.getId(), row.getCreatedAt()) == null && !origin.equals(row.getOrigin())) {
+                        remote.computeIfAbsent(row.getRegion(), region -> new LinkedHashSet<>()).add(row.getEntryKey());
+                    }
+                    if (row.getCreatedAt().isAfter(watermark)) {
+                        watermark = row.getCreatedAt();
+                    }
+                }
+                // A full page whose rows all share one timestamp cannot be paged past by time;
+                // treat it as caught up rather than reading it again.
+                Instant last = rows.isEmpty() ? since : rows.get(rows.size() - 1).getCreatedAt();
+                caughtUp = rows.size() < batchSize || !last.isAfter(since);
+                since = last;
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not read cache invalidations: {}", e.getMessage());
+            return;
+        }
+        Instant horizon = watermark.minus(commitGrace);
+        recentlyApplied.values().removeIf(createdAt -> createdAt.isBefore(horizon));
+
+        remote.forEach(this::apply);
+        remote.forEach((region, keys) -> remoteInvalidations.increment(keys.size()));
+        if (!wasCoherent) {
+            // Anything cached before the gap may have missed an invalidation.
+            caches.values().forEach(CoherentCache::clear);
+            logger.warn("Cache invalidations were not read for {} ms; cleared all caches",
+                    System.currentTimeMillis() - caughtUpAt);
+        }
+        if (caughtUp) {
+            caughtUpAt = System.currentTimeMillis();
+        }
+        remote.forEach(this::notifyListeners);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.coherence.purge-interval-ms:600000}", initialDelayString = "${cache.coherence.purge-interval-ms:600000}")
+    public void purge() {
+        int deleted = cacheInvalidationRepository.deleteOlderThan(watermark.minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} cache invalidations", deleted);
+        }
+    }
+
+    private void append(String region, String key) {
+        cacheInvalidationRepository.append(region, key, origin);
+        localInvalidations.increment();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(region, Set.of(key));
+            }
+        });
+    }
+
+    private void apply(String region, Set<String> keys) {
+        CoherentCache<?> cache = caches.get(region);
+        if (cache == null) {
+            return;
+        }
+        if (keys.contains(ALL)) {
+            cache.clear();
+            return;
+        }
+        keys.forEach(cache::invalidate);
+    }
+
+    private void notifyListeners(String region, Set<String> keys) {
+        for (Consumer<Set<String>> listener : remoteListeners.getOrDefault(region, List.of())) {
+            try {
+                listener.accept(keys);
+            } catch (RuntimeException e) {
+                logger.warn("Remote invalidation listener for {} failed: {}", region, e.getMessage());
+            }
+        }
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("cache.invalidations")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.uumevent.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// One region of CacheCoherenceService: a bounded least-recently-used map from entry key to value.
+// Loads run outside the lock; a load that overlapped an invalidation of its region is returned but
+// not stored, so a value read before a write committed cannot outlive that write's invalidation.
+// While the owning instance cannot confirm it has seen every invalidation (coherent is false),
+// every read goes to the loader.
+//
+// Loaders run through loads, which CacheCoherenceService makes a transaction of their own that
+// reads from the primary: a replica still behind the invalidating write would refill the entry
+// with the old value, and nothing would evict it again.
+public class CoherentCache<V> {
+
+    private final String region;
+    private final int maxEntries;
+    private final BooleanSupplier coherent;
+    private final TransactionOperations loads;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, V> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypassed;
+    private long generation; // bumped by every invalidation, guarded by lock
+
+    public CoherentCache(String region, int maxEntries, BooleanSupplier coherent, TransactionOperations loads, MeterRegistry meterRegistry) {
+        this.region = region;
+        this.maxEntries = maxEntries;
+        this.coherent = coherent;
+        this.loads = loads;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > CoherentCache.this.maxEntries;
+            }
+        };
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+        this.bypassed = gets(meterRegistry, "bypass");
+        Gauge.builder("cache.size", this, CoherentCache::size)
+                .tag("cache", region)
+                .register(meterRegistry);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    // The loader may return null (nothing to cache) or throw; neither is stored.
+    public V get(String key, Supplier<V> loader) {
+        if (!coherent.getAsBoolean()) {
+            bypassed.increment();
+            return loads.execute(status -> loader.get());
+        }
+        long loadGeneration;
+        lock.lock();
+        try {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        V loaded = loads.execute(status -> loader.get());
+        if (loaded != null) {
+            store(Map.of(key, loaded), loadGeneration);
+        }
+        return loaded;
+    }
+
+    // Values for keys in key order; the misses are loaded in one call. Keys the loader returns no
+    // value for are left out of the result.
+    public List<V> getAll(List<String> keys, Function<Collection<String>, Map<String, V>> loader) {
+        if (!coherent.getAsBoolean()) {
+            bypassed.increment(keys.size());
+            return ordered(keys, loads.execute(status -> loader.apply(keys)), Map.of());
+        }
+        Map<String, V> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        long loadGeneration;
+        lock.lock();
+        try {
+            for (String key : keys) {
+                V cached = entries.get(key);
+                if (cached != null) {
+                    found.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        hits.increment(found.size());
+        if (missing.isEmpty()) {
+            return ordered(keys, found, Map.of());
+        }
+        misses.increment(missing.size());
+        Map<String, V> loaded = loads.execute(status -> loader.apply(missing));
+        store(loaded, loadGeneration);
+        return ordered(keys, found, loaded);
+    }
+
+    void invalidate(String key) {
+        lock.lock();
+        try {
+            generation++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(Map<String, V> loaded, long loadGeneration) {
+        lock.lock();
+        try {
+            if (generation == loadGeneration) {
+                entries.putAll(loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<V> ordered(List<String> keys, Map<String, V> first, Map<String, V> second) {
+        List<V> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            V value = first.containsKey(key) ? first.get(key) : second.get(key);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", region)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
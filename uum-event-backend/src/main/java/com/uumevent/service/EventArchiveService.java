@@ -0,0 +1,109 @@
+package com.uumevent.service;
+
+import com.uumevent.repository.ArchivedEventRepository;
+import com.uumevent.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Moves events that ended more than retentionDays ago, with their tags, registrations and tickets,
+// into the archived_* tables so the hot tables only hold current data. Work is done in batches of
+// batchSize events, each copied and deleted in its own transaction: a run that is interrupted (or
+// hits maxRunTime) leaves every batch either fully archived or untouched, and the next run simply
+// picks up the events that are still in the hot tables. The cron fires on every instance: each
+// batch is claimed with FOR UPDATE SKIP LOCKED, so concurrent runs take disjoint batches instead of
+// copying the same events twice. batchPause spaces out the batches so the
+// job does not monopolise the primary or the replication stream.
+@Service
+public class EventArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventArchiveService.class);
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final int retentionDays;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration maxRunTime;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EventArchiveService(EventRepository eventRepository, ArchivedEventRepository archivedEventRepository, TransactionTemplate transactionTemplate,
+                               CacheCoherenceService cacheCoherenceService,
+                               @Value("${archive.retention-days:30}") int retentionDays,
+                               @Value("${archive.batch-size:100}") int batchSize,
+                               @Value("${archive.batch-pause-ms:500}") long batchPauseMillis,
+                               @Value("${archive.max-run-minutes:30}") long maxRunMinutes) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.batchPause = Duration.ofMillis(batchPauseMillis);
+        this.maxRunTime = Duration.ofMinutes(maxRunMinutes);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public int archivePastEvents() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+            Instant deadline = Instant.now().plus(maxRunTime);
+            int archived = 0;
+            while (Instant.now().isBefore(deadline)) {
+                Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                if (batch == null || batch == 0) {
+                    break;
+                }
+                archived += batch;
+                if (batch < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPause.toMillis());
+            }
+            if (archived > 0) {
+                logger.info("Archived {} events that ended before {}", archived, cutoff);
+            }
+            return archived;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> eventIds = eventRepository.claimIdsByDateBefore(cutoff, batchSize);
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        archivedEventRepository.copyEvents(eventIds, Instant.now());
+        archivedEventRepository.copyEventTags(eventIds);
+        int registrations = archivedEventRepository.copyRegistrations(eventIds);
+        int tickets = archivedEventRepository.copyTickets(eventIds);
+
+        archivedEventRepository.deleteTickets(eventIds);
+        archivedEventRepository.deleteRegistrations(eventIds);
+        archivedEventRepository.deleteEventTags(eventIds);
+        archivedEventRepository.deleteEvents(eventIds);
+        eventIds.forEach(id -> cacheCoherenceService.invalidate(CacheCoherenceService.EVENTS, String.valueOf(id)));
+        // Archived tickets are listed from the archive tables from now on.
+        cacheCoherenceService.invalidateAll(CacheCoherenceService.TICKETS);
+        logger.debug("Archived {} events with {} registrations and {} tickets", eventIds.size(), registrations, tickets);
+        return eventIds.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.Event;
+import com.uumevent.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+// Moves events through upcoming / sold-out -> ongoing (from their start time on their date) ->
+// completed (the day after). Registrations flip an event to sold-out as soon as the last seat goes;
+// the sweep also catches capacity changes in either direction. Transitions are set-based updates
+// in batches, so a sweep costs a few index range scans however many events exist.
+@Service
+public class EventLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+
+    private final EventRepository eventRepository;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final int batchSize;
+
+    public EventLifecycleService(EventRepository eventRepository, CacheCoherenceService cacheCoherenceService,
+                                 @Value("${event.status.batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${event.status.refresh-interval-ms:60000}")
+    public void refreshStatuses() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int completed = repeat(() -> eventRepository.markCompleted(today, batchSize));
+        int ongoing = repeat(() -> eventRepository.markOngoing(today, now.toLocalTime(), batchSize));
+        int soldOut = repeat(() -> eventRepository.markSoldOut(today, batchSize));
+        int reopened = repeat(() -> eventRepository.reopenSoldOut(today, batchSize));
+        if (completed + ongoing + soldOut + reopened > 0) {
+            // The updates do not say which events they touched.
+            cacheCoherenceService.invalidateAll(CacheCoherenceService.EVENTS);
+            logger.info("Event statuses updated: {} completed, {} ongoing, {} sold out, {} reopened", completed, ongoing, soldOut, reopened);
+        }
+    }
+
+    // Status of a single event that was just created or rescheduled, by the same rules as the sweep.
+    public String statusFor(Event event) {
+        LocalDateTime now = LocalDateTime.now();
+        if (event.getDate() != null && event.getDate().isBefore(now.toLocalDate())) {
+            return Event.STATUS_COMPLETED;
+        }
+        if (event.getDate() != null && event.getDate().isEqual(now.toLocalDate())
+                && (event.getTime() == null || !event.getTime().isAfter(now.toLocalTime()))) {
+            return Event.STATUS_ONGOING;
+        }
+        if (event.getMaxAttendees() != null && event.getCurrentAttendees() != null && event.getCurrentAttendees() >= event.getMaxAttendees()) {
+            return Event.STATUS_SOLD_OUT;
+        }
+        return Event.STATUS_UPCOMING;
+    }
+
+    private int repeat(IntSupplier batch) {
+        int total = 0;
+        int updated;
+        do {
+            updated = batch.getAsInt();
+            total += updated;
+        } while (updated >= batchSize);
+        return total;
+    }
+}
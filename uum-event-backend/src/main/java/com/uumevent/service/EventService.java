@@ -2,6 +2,7 @@
 package com.uumevent.service;
 
 import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SeatUpdateDto;
 import com.uumevent.dto.UserDto;
 import com.uumevent.entity.Event;
 import com.uumevent.entity.Tag;
@@ -9,14 +10,21 @@ import com.uumevent.entity.User;
 import com.uumevent.repository.EventRepository;
 import com.uumevent.repository.TagRepository;
 import com.uumevent.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,11 +34,35 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
+    private final ImageVariantService imageVariantService;
+    private final FileStorageService fileStorageService;
+    private final EventStatsService eventStatsService;
+    private final RegistrationAnalyticsService registrationAnalyticsService;
+    private final EventLifecycleService eventLifecycleService;
+    private final SeatUpdateBroadcaster seatUpdateBroadcaster;
+    private final OutboxService outboxService;
+    private final CacheCoherenceService cacheCoherenceService;
+    // Mapped events by id. Listings only query ids and take the rows from here; callers treat the
+    // DTOs as read-only.
+    private final CoherentCache<EventDto> eventCache;
 
-    public EventService(EventRepository eventRepository, UserRepository userRepository, TagRepository tagRepository) {
+    public EventService(EventRepository eventRepository, UserRepository userRepository, TagRepository tagRepository, ImageVariantService imageVariantService, FileStorageService fileStorageService,
+                        EventStatsService eventStatsService, RegistrationAnalyticsService registrationAnalyticsService,
+                        EventLifecycleService eventLifecycleService, SeatUpdateBroadcaster seatUpdateBroadcaster,
+                        OutboxService outboxService, CacheCoherenceService cacheCoherenceService) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.tagRepository = tagRepository;
+        this.imageVariantService = imageVariantService;
+        this.fileStorageService = fileStorageService;
+        this.eventStatsService = eventStatsService;
+        this.registrationAnalyticsService = registrationAnalyticsService;
+        this.eventLifecycleService = eventLifecycleService;
+        this.seatUpdateBroadcaster = seatUpdateBroadcaster;
+        this.outboxService = outboxService;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.eventCache = cacheCoherenceService.register(CacheCoherenceService.EVENTS);
+        cacheCoherenceService.onRemoteInvalidation(CacheCoherenceService.EVENTS, this::eventsChangedElsewhere);
     }
 
     @Transactional
@@ -38,15 +70,14 @@ public class EventService {
         User organizer = userRepository.findByEmail(organizerEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Organizer not found with email: " + organizerEmail));
 
-        eventRepository.findByTitleAndDateAndLocation(eventDto.getTitle(), eventDto.getDate(), eventDto.getLocation())
-                .ifPresent(e -> {
-                    throw new IllegalStateException("An event with the same title, date, and location already exists.");
-                });
-
         Event event = new Event();
         mapDtoToEntity(eventDto, event, organizer);
+        event.setStatus(eventLifecycleService.statusFor(event));
+        fileStorageService.updateReferences(null, event.getImageUrl());
 
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = saveUnique(event);
+        eventStatsService.eventCreated(savedEvent);
+        outboxService.eventCreated(savedEvent);
         return mapEntityToDto(savedEvent);
     }
 
@@ -62,13 +93,26 @@ public class EventService {
             throw new AccessDeniedException("You are not the organizer of this event.");
         }
 
-        eventRepository.findByTitleAndDateAndLocationAndIdNot(eventDto.getTitle(), eventDto.getDate(), eventDto.getLocation(), id)
-                .ifPresent(e -> {
-                    throw new IllegalStateException("An event with the same title, date, and location already exists.");
-                });
-
+        String previousImageUrl = event.getImageUrl();
+        Integer previousCapacity = event.getMaxAttendees();
+        LocalDate previousDate = event.getDate();
+        LocalTime previousTime = event.getTime();
         mapDtoToEntity(eventDto, event, organizer);
-        Event updatedEvent = eventRepository.save(event);
+        // Status is left to the lifecycle sweep unless the schedule or capacity changed.
+        if (!Objects.equals(previousDate, event.getDate()) || !Objects.equals(previousTime, event.getTime())
+                || !Objects.equals(previousCapacity, event.getMaxAttendees())) {
+            event.setStatus(eventLifecycleService.statusFor(event));
+        }
+        fileStorageService.updateReferences(previousImageUrl, event.getImageUrl());
+        Event updatedEvent = saveUnique(event);
+        eventStatsService.eventCapacityChanged(updatedEvent, previousCapacity);
+        outboxService.eventUpdated(updatedEvent);
+        // Tickets show the event's title, schedule and place.
+        cacheCoherenceService.invalidate(CacheCoherenceService.EVENTS, String.valueOf(id));
+        cacheCoherenceService.invalidateAll(CacheCoherenceService.TICKETS);
+        if (!Objects.equals(previousCapacity, updatedEvent.getMaxAttendees())) {
+            seatUpdateBroadcaster.seatsChanged(updatedEvent);
+        }
         return mapEntityToDto(updatedEvent);
     }
 
@@ -84,24 +128,88 @@ public class EventService {
             throw new AccessDeniedException("You are not the organizer of this event.");
         }
 
+        fileStorageService.updateReferences(event.getImageUrl(), null);
+        eventStatsService.eventDeleted(event);
+        outboxService.eventDeleted(event);
+        registrationAnalyticsService.eventDeleted(id);
+        cacheCoherenceService.invalidate(CacheCoherenceService.EVENTS, String.valueOf(id));
+        cacheCoherenceService.invalidateAll(CacheCoherenceService.TICKETS);
         eventRepository.deleteById(id);
     }
 
-    @Transactional(readOnly = true)
     public List<EventDto> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(this::mapEntityToDto)
-                .collect(Collectors.toList());
+        return cachedEvents(eventRepository.findAllIds());
+    }
+
+    public List<EventDto> getEventsByStatus(String status) {
+        if (!Event.STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Unknown status: " + status + ", expected one of " + Event.STATUSES);
+        }
+        return cachedEvents(eventRepository.findIdsByStatus(status));
     }
 
     @Transactional(readOnly = true)
+    public List<SeatUpdateDto> getSeatCounts(Collection<Long> eventIds) {
+        return eventRepository.findAllById(eventIds).stream()
+                .map(event -> new SeatUpdateDto(event.getId(), event.getCurrentAttendees(), event.getMaxAttendees(),
+                        event.getCurrentAttendees() >= event.getMaxAttendees()))
+                .collect(Collectors.toList());
+    }
+
     public List<EventDto> getEventsByOrganizer(String organizerEmail) {
         User organizer = userRepository.findByEmail(organizerEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Organizer not found: " + organizerEmail));
 
-        return eventRepository.findByOrganizer(organizer).stream()
-                .map(this::mapEntityToDto)
+        return cachedEvents(eventRepository.findIdsByOrganizer(organizer));
+    }
+
+    // Listings run without a transaction of their own, so that a cache miss does not hold two
+    // connections: the ids come from a replica in the (read-only) repository queries, the missing
+    // events from the primary in the cache's own transaction.
+    private List<EventDto> cachedEvents(List<Long> ids) {
+        List<String> keys = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        return eventCache.getAll(keys, missing -> eventRepository.findWithDetailsByIdIn(missing.stream().map(Long::valueOf).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(event -> String.valueOf(event.getId()), this::mapEntityToDto)));
+    }
+
+    // Registrations and capacity changes committed on other instances reach this instance's
+    // seat count subscribers too.
+    private void eventsChangedElsewhere(Set<String> keys) {
+        if (!seatUpdateBroadcaster.hasSubscribers()) {
+            return;
+        }
+        List<Long> ids = keys.stream()
+                .filter(key -> !CacheCoherenceService.ALL.equals(key))
+                .map(Long::valueOf)
                 .collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            eventRepository.findAllById(ids).forEach(seatUpdateBroadcaster::seatsChanged);
+        }
+    }
+
+    // Duplicates (same title, date and location) are caught by the unique constraint on flush rather
+    // than by a query beforehand, which costs a round trip and lets two concurrent writes through.
+    // The IllegalStateException rolls the transaction back and becomes a 409 in EventController.
+    private Event saveUnique(Event event) {
+        try {
+            return eventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, Event.NATURAL_KEY_CONSTRAINT)) {
+                throw new IllegalStateException("An event with the same title, date, and location already exists.");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void mapDtoToEntity(EventDto eventDto, Event event, User organizer) {
@@ -116,7 +224,7 @@ public class EventService {
         event.setPrice(eventDto.getPrice());
         event.setMaxAttendees(eventDto.getMaxAttendees());
         event.setImageUrl(eventDto.getImageUrl());
-        event.setStatus("upcoming");
+        event.setImageAsset(imageVariantService.findByImageUrl(eventDto.getImageUrl()));
         event.setOrganizer(organizer);
 
         Set<Tag> tags = new HashSet<>();
@@ -150,6 +258,7 @@ public class EventService {
         eventDto.setMaxAttendees(event.getMaxAttendees());
         eventDto.setCurrentAttendees(event.getCurrentAttendees());
         eventDto.setImageUrl(event.getImageUrl());
+        eventDto.setImageVariants(imageVariantService.variantUrls(event.getImageUrl(), event.getImageAsset()));
         eventDto.setStatus(event.getStatus());
 
         if (event.getTags() != null) {
@@ -0,0 +1,128 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.EventStatsDto;
+import com.uumevent.dto.OrganizerStatsDto;
+import com.uumevent.entity.Event;
+import com.uumevent.entity.EventStats;
+import com.uumevent.entity.OrganizerStats;
+import com.uumevent.entity.User;
+import com.uumevent.repository.EventStatsRepository;
+import com.uumevent.repository.OrganizerStatsRepository;
+import com.uumevent.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+// Dashboard aggregates kept per event and per organizer. Every change is an in-place increment that
+// joins the caller's transaction, so the totals commit or roll back together with the event or
+// registration they describe, and reading a dashboard never touches registrations or tickets.
+@Service
+public class EventStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStatsService.class);
+
+    private final EventStatsRepository eventStatsRepository;
+    private final OrganizerStatsRepository organizerStatsRepository;
+    private final UserRepository userRepository;
+
+    public EventStatsService(EventStatsRepository eventStatsRepository, OrganizerStatsRepository organizerStatsRepository, UserRepository userRepository) {
+        this.eventStatsRepository = eventStatsRepository;
+        this.organizerStatsRepository = organizerStatsRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventCreated(Event event) {
+        eventStatsRepository.insert(event.getId(), event.getOrganizer().getId(), capacityOf(event), Instant.now());
+        adjustOrganizer(event.getOrganizer().getId(), 1, 0, capacityOf(event), BigDecimal.ZERO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventCapacityChanged(Event event, Integer previousCapacity) {
+        int delta = capacityOf(event) - (previousCapacity == null ? 0 : previousCapacity);
+        if (delta == 0) {
+            return;
+        }
+        eventStatsRepository.updateCapacity(event.getId(), capacityOf(event), Instant.now());
+        adjustOrganizer(event.getOrganizer().getId(), 0, 0, delta, BigDecimal.ZERO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventDeleted(Event event) {
+        eventStatsRepository.findById(event.getId()).ifPresent(stats -> {
+            adjustOrganizer(stats.getOrganizerId(), -1, -stats.getRegistrations(), -stats.getCapacity(), stats.getRevenue().negate());
+            eventStatsRepository.delete(stats);
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationAdded(Event event, BigDecimal price) {
+        adjustRegistrations(event, 1, price == null ? BigDecimal.ZERO : price);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationCancelled(Event event, BigDecimal price) {
+        adjustRegistrations(event, -1, price == null ? BigDecimal.ZERO : price.negate());
+    }
+
+    // Two reads by primary key / organizer_id index, independent of the number of attendees.
+    @Transactional(readOnly = true)
+    public OrganizerStatsDto getOrganizerStats(String organizerEmail) {
+        User organizer = userRepository.findByEmail(organizerEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("Organizer not found: " + organizerEmail));
+
+        OrganizerStats totals = organizerStatsRepository.findById(organizer.getId()).orElseGet(OrganizerStats::new);
+        List<EventStatsDto> eventStats = eventStatsRepository.findByOrganizerId(organizer.getId()).stream()
+                .sorted(Comparator.comparing(EventStats::getEventId))
+                .map(this::mapEventStatsToDto)
+                .toList();
+
+        OrganizerStatsDto dto = new OrganizerStatsDto();
+        dto.setEvents(totals.getEvents());
+        dto.setRegistrations(totals.getRegistrations());
+        dto.setCapacity(totals.getCapacity());
+        dto.setRevenue(totals.getRevenue());
+        dto.setFillRate(fillRate(totals.getRegistrations(), totals.getCapacity()));
+        dto.setEventStats(eventStats);
+        return dto;
+    }
+
+    private void adjustRegistrations(Event event, int delta, BigDecimal revenue) {
+        Instant now = Instant.now();
+        if (eventStatsRepository.adjustRegistrations(event.getId(), delta, revenue, now) == 0) {
+            logger.warn("No stats row for event {}; registration totals not updated", event.getId());
+            return;
+        }
+        adjustOrganizer(event.getOrganizer().getId(), 0, delta, 0, revenue);
+    }
+
+    private void adjustOrganizer(Long organizerId, int events, int registrations, int capacity, BigDecimal revenue) {
+        organizerStatsRepository.adjust(organizerId, events, registrations, capacity, revenue, Instant.now());
+    }
+
+    private EventStatsDto mapEventStatsToDto(EventStats stats) {
+        EventStatsDto dto = new EventStatsDto();
+        dto.setEventId(stats.getEventId());
+        dto.setRegistrations(stats.getRegistrations());
+        dto.setCapacity(stats.getCapacity());
+        dto.setRevenue(stats.getRevenue());
+        dto.setFillRate(fillRate(stats.getRegistrations(), stats.getCapacity()));
+        return dto;
+    }
+
+    private static int capacityOf(Event event) {
+        return event.getMaxAttendees() == null ? 0 : event.getMaxAttendees();
+    }
+
+    private static double fillRate(int registrations, int capacity) {
+        return capacity <= 0 ? 0 : Math.round(registrations * 10000.0 / capacity) / 10000.0;
+    }
+}
@@ -1,55 +1,178 @@
 package com.uumevent.service;
 
+import com.uumevent.entity.StoredFile;
+import com.uumevent.repository.StoredFileRepository;
+import com.uumevent.service.storage.StorageBackend;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
 
 @Service
 public class FileStorageService {
 
-    private final Path fileStorageLocation;
+    public static final String UPLOADS_PREFIX = "/uploads/";
+
+    private final Path incomingLocation;
+    private final StorageBackend storageBackend;
+    private final ImageVariantService imageVariantService;
+    private final StoredFileRepository storedFileRepository;
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
-    public FileStorageService(@Value("${file.upload-dir}") String uploadDir) {
-        this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
-        
+    public FileStorageService(@Value("${file.upload-dir}") String uploadDir, StorageBackend storageBackend, ImageVariantService imageVariantService, StoredFileRepository storedFileRepository) {
+        // Uploads are staged locally while they are hashed, whichever backend ends up storing them.
+        this.incomingLocation = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(".incoming");
+        this.storageBackend = storageBackend;
+        this.imageVariantService = imageVariantService;
+        this.storedFileRepository = storedFileRepository;
+
         try {
             // This will create the directory if it doesn't exist.
             // If it fails, it will throw a clear exception.
-            Files.createDirectories(this.fileStorageLocation);
-            logger.info("Uploads directory successfully verified/created at: {}", this.fileStorageLocation);
+            Files.createDirectories(this.incomingLocation);
+            logger.info("Upload staging directory successfully verified/created at: {}", this.incomingLocation);
         } catch (Exception ex) {
             // This will cause the application to fail on startup if it cannot create the folder,
             // which is better than failing later.
-            throw new RuntimeException("Could not create the directory for uploads. Please check file permissions. Path: " + this.fileStorageLocation, ex);
+            throw new RuntimeException("Could not create the directory for uploads. Please check file permissions. Path: " + this.incomingLocation, ex);
         }
     }
 
+    // Uploads are hashed while they stream to a temporary file and then stored under their
+    // SHA-256, so re-uploading the same image returns the existing path without writing it twice.
     public String storeFile(MultipartFile file) {
         String originalFileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
         String sanitizedFileName = originalFileName.replaceAll("[^a-zA-Z0-9._-]", "_");
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + sanitizedFileName;
+        Path tempFile = null;
 
         try {
-            if(uniqueFileName.contains("..")) {
-                throw new RuntimeException("Filename contains invalid path sequence: " + uniqueFileName);
+            tempFile = Files.createTempFile(this.incomingLocation, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+
+            StoredFile existing = storedFileRepository.findByContentHash(contentHash).orElse(null);
+            if (existing != null && storedFileRepository.touch(existing.getId(), Instant.now()) == 0) {
+                existing = null; // collected since it was looked up; stored afresh below
+            }
+            if (existing != null && storageBackend.exists(toKey(existing.getPath()))) {
+                logger.debug("Upload {} deduplicated to {}", sanitizedFileName, existing.getPath());
+                return existing.getPath();
+            }
+
+            String uniqueFileName = contentHash + extensionOf(sanitizedFileName);
+            storageBackend.store(uniqueFileName, tempFile, file.getContentType());
+
+            String storedPath = UPLOADS_PREFIX + uniqueFileName;
+            if (existing == null) {
+                StoredFile storedFile = new StoredFile();
+                storedFile.setContentHash(contentHash);
+                storedFile.setPath(storedPath);
+                storedFile.setContentType(file.getContentType());
+                storedFile.setSize(file.getSize());
+                try {
+                    storedFileRepository.save(storedFile);
+                } catch (DataIntegrityViolationException e) {
+                    // Another request stored the same content concurrently; the file on disk is identical.
+                    return storedFileRepository.findByContentHash(contentHash).map(StoredFile::getPath).orElse(storedPath);
+                }
+            } else {
+                storedPath = existing.getPath();
             }
 
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            if (file.getContentType() != null && file.getContentType().startsWith("image/")) {
+                imageVariantService.submitIfAbsent(storedPath);
+            }
+            return storedPath;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            logger.error("Could not store file {}", sanitizedFileName, ex);
+            throw new RuntimeException("Could not store file " + sanitizedFileName + ". Please try again!", ex);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("Could not delete temporary upload {}", tempFile);
+                }
+            }
+        }
+    }
 
-            return "/uploads/" + uniqueFileName;
+    // Reference counts follow Event.imageUrl; they join the caller's transaction so a rolled-back
+    // event write leaves the count untouched.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateReferences(String oldImageUrl, String newImageUrl) {
+        String oldPath = toStoredPath(oldImageUrl);
+        String newPath = toStoredPath(newImageUrl);
+        if (Objects.equals(oldPath, newPath)) {
+            return;
+        }
+        if (oldPath != null) {
+            storedFileRepository.adjustRefCount(oldPath, -1);
+        }
+        if (newPath != null) {
+            storedFileRepository.adjustRefCount(newPath, 1);
+        }
+    }
+
+    // Returns null for unknown or malformed keys so callers can answer 404.
+    public Resource loadFile(String key) {
+        try {
+            return storageBackend.load(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file " + key, ex);
+        }
+    }
+
+    public Path localPath(String key) {
+        try {
+            return storageBackend.localPath(key);
+        } catch (IllegalArgumentException e) {
+            return null;
         } catch (IOException ex) {
-            logger.error("Could not store file {}", uniqueFileName, ex);
-            throw new RuntimeException("Could not store file " + uniqueFileName + ". Please try again!", ex);
+            throw new RuntimeException("Could not read file " + key, ex);
+        }
+    }
+
+    public static String toKey(String storedPath) {
+        return storedPath.substring(UPLOADS_PREFIX.length());
+    }
+
+    // Event.imageUrl holds an absolute URL ("http://host/uploads/..."); stored paths start at /uploads/.
+    public static String toStoredPath(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        int index = imageUrl.indexOf(UPLOADS_PREFIX);
+        return index < 0 ? null : imageUrl.substring(index);
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+            return "";
         }
+        return fileName.substring(dot).toLowerCase();
     }
 }
@@ -0,0 +1,353 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.ImageAsset;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.service.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class ImageVariantService {
+
+    public enum Variant {
+        THUMBNAIL("thumbnail", 320),
+        CARD("card", 640),
+        HERO("hero", 1600);
+
+        private final String key;
+        private final int maxWidth;
+
+        Variant(String key, int maxWidth) {
+            this.key = key;
+            this.maxWidth = maxWidth;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+    private static final String UPLOADS_PREFIX = FileStorageService.UPLOADS_PREFIX;
+
+    private final ImageAssetRepository imageAssetRepository;
+    private final StorageBackend storageBackend;
+    private final TaskExecutor imageTaskExecutor;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageVariantService(ImageAssetRepository imageAssetRepository, StorageBackend storageBackend,
+                               @Qualifier("imageTaskExecutor") TaskExecutor imageTaskExecutor,
+                               CacheCoherenceService cacheCoherenceService,
+                               @Value("${image.jpeg-quality:0.82}") float jpegQuality,
+                               @Value("${image.max-pixels:25000000}") long maxPixels) {
+        this.imageAssetRepository = imageAssetRepository;
+        this.storageBackend = storageBackend;
+        this.imageTaskExecutor = imageTaskExecutor;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    // Records the upload and queues derivative generation; the caller never waits on resizing.
+    // Deduplicated uploads already have an asset, so their derivatives are reused.
+    public void submitIfAbsent(String storedPath) {
+        if (imageAssetRepository.existsByOriginalPath(storedPath)) {
+            return;
+        }
+        ImageAsset asset = new ImageAsset();
+        asset.setOriginalPath(storedPath);
+        asset.setStatus("pending");
+        ImageAsset savedAsset = imageAssetRepository.save(asset);
+
+        try {
+            imageTaskExecutor.execute(() -> generateVariants(savedAsset.getId()));
+        } catch (TaskRejectedException e) {
+            logger.warn("Image queue is full, serving {} without derivatives", storedPath);
+            savedAsset.setStatus("failed");
+            imageAssetRepository.save(savedAsset);
+        }
+    }
+
+    public ImageAsset findByImageUrl(String imageUrl) {
+        String storedPath = FileStorageService.toStoredPath(imageUrl);
+        return storedPath == null ? null : imageAssetRepository.findByOriginalPath(storedPath).orElse(null);
+    }
+
+    // Variant URLs keep whatever origin prefix the client stored in Event.imageUrl.
+    public Map<String, String> variantUrls(String imageUrl, ImageAsset asset) {
+        if (imageUrl == null || asset == null || !"ready".equals(asset.getStatus()) || !imageUrl.contains(UPLOADS_PREFIX)) {
+            return null;
+        }
+        String origin = imageUrl.substring(0, imageUrl.indexOf(UPLOADS_PREFIX));
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put(Variant.THUMBNAIL.getKey(), origin + asset.getThumbnailPath());
+        urls.put(Variant.CARD.getKey(), origin + asset.getCardPath());
+        urls.put(Variant.HERO.getKey(), origin + asset.getHeroPath());
+        return urls;
+    }
+
+    public String preferredUrl(String imageUrl, ImageAsset asset, Variant variant) {
+        Map<String, String> urls = variantUrls(imageUrl, asset);
+        return urls != null ? urls.get(variant.getKey()) : imageUrl;
+    }
+
+    // Picks the stored key to serve for a request on an original upload: an explicit size variant,
+    // or the JPEG hero when the client's Accept header rules out the original's format. Empty when
+    // such a derivative was asked for but does not exist (yet); the caller then serves the original.
+    public Optional<String> negotiateKey(String key, String variant, String acceptHeader, MediaType originalType) {
+        boolean acceptsOriginal;
+        try {
+            acceptsOriginal = acceptHeader == null || acceptHeader.isBlank()
+                    || MediaType.parseMediaTypes(acceptHeader).stream().anyMatch(type -> type.includes(originalType));
+        } catch (InvalidMediaTypeException e) {
+            acceptsOriginal = true;
+        }
+        if (variant == null && acceptsOriginal) {
+            return Optional.of(key);
+        }
+        ImageAsset asset = imageAssetRepository.findByOriginalPath(UPLOADS_PREFIX + key).orElse(null);
+        if (asset == null || !"ready".equals(asset.getStatus())) {
+            return Optional.empty();
+        }
+        String path = switch (variant == null ? Variant.HERO.getKey() : variant) {
+            case "thumbnail" -> asset.getThumbnailPath();
+            case "card" -> asset.getCardPath();
+            case "hero" -> asset.getHeroPath();
+            default -> UPLOADS_PREFIX + key;
+        };
+        return Optional.of(FileStorageService.toKey(path));
+    }
+
+    private void generateVariants(Long assetId) {
+        ImageAsset asset = imageAssetRepository.findById(assetId).orElse(null);
+        if (asset == null) {
+            return;
+        }
+        try {
+            String key = FileStorageService.toKey(asset.getOriginalPath());
+            byte[] bytes;
+            try (InputStream in = storageBackend.open(key)) {
+                bytes = in.readAllBytes();
+            }
+            BufferedImage original = decode(bytes);
+            BufferedImage oriented = applyOrientation(original, readExifOrientation(bytes));
+
+            String baseName = key.replaceFirst("\\.[^.]+$", "");
+            asset.setThumbnailPath(writeVariant(oriented, baseName, Variant.THUMBNAIL));
+            asset.setCardPath(writeVariant(oriented, baseName, Variant.CARD));
+            asset.setHeroPath(writeVariant(oriented, baseName, Variant.HERO));
+            asset.setWidth(oriented.getWidth());
+            asset.setHeight(oriented.getHeight());
+            asset.setStatus("ready");
+        } catch (Exception ex) {
+            logger.error("Could not generate image variants for {}", asset.getOriginalPath(), ex);
+            asset.setStatus("failed");
+        }
+        imageAssetRepository.save(asset);
+        if ("ready".equals(asset.getStatus())) {
+            // Cached events and tickets showing this image can now point at its variants.
+            cacheCoherenceService.invalidateAll(CacheCoherenceService.EVENTS);
+            cacheCoherenceService.invalidateAll(CacheCoherenceService.TICKETS);
+        }
+    }
+
+    // A few kilobytes of compressed image can declare billions of pixels, so the dimensions are read
+    // from the header and checked against maxPixels before anything is decoded.
+    BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image has " + pixels + " pixels, more than the limit of " + maxPixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Re-encoding through ImageIO writes a fresh JPEG with no metadata, which strips EXIF (GPS etc.).
+    private String writeVariant(BufferedImage image, String baseName, Variant variant) throws IOException {
+        int width = Math.min(image.getWidth(), variant.maxWidth);
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = resize(image, width, height);
+
+        String fileName = baseName + "_" + variant.getKey() + ".jpg";
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        Path tempFile = Files.createTempFile("variant-", ".jpg");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tempFile.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(resized, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            storageBackend.store(fileName, tempFile, "image/jpeg");
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return UPLOADS_PREFIX + fileName;
+    }
+
+    // Halves the image repeatedly before the final bilinear pass, which keeps downscaled photos sharp.
+    private BufferedImage resize(BufferedImage image, int targetWidth, int targetHeight) {
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE); // PNG screenshots may carry transparency, which JPEG cannot
+            g.fillRect(0, 0, width, height);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // EXIF orientations 2-8: the transform from the stored pixels to the upright image. 5-8 swap
+    // width and height; 2, 4, 5 and 7 are mirrored (front cameras).
+    static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return image;
+        }
+        boolean swap = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        g.drawImage(image, transform, null);
+        g.dispose();
+        return oriented;
+    }
+
+    // Phone cameras store rotation in EXIF; once EXIF is stripped it must be baked into the pixels.
+    // Uploads are untrusted: anything truncated or out of range reads as 1 (no transform).
+    static int readExifOrientation(byte[] image) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(image))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if (marker == 0xFFDA || (marker & 0xFF00) != 0xFF00) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    return parseOrientation(in.readNBytes(length));
+                }
+                skipFully(in, length);
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static int parseOrientation(byte[] segment) {
+        int tiff = 6; // "Exif\0\0"
+        if (segment.length < tiff + 8 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 1;
+        }
+        boolean littleEndian = segment[tiff] == 'I';
+        long ifd = tiff + (readInt(segment, tiff + 4, littleEndian) & 0xFFFFFFFFL);
+        if (ifd + 2 > segment.length) {
+            return 1;
+        }
+        int entries = readShort(segment, (int) ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            long entry = ifd + 2 + i * 12L;
+            if (entry + 12 > segment.length) {
+                break;
+            }
+            if (readShort(segment, (int) entry, littleEndian) == 0x0112) {
+                int orientation = readShort(segment, (int) entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] b, int offset, boolean littleEndian) {
+        int b0 = b[offset] & 0xFF;
+        int b1 = b[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] b, int offset, boolean littleEndian) {
+        int hi = readShort(b, littleEndian ? offset + 2 : offset, littleEndian);
+        int lo = readShort(b, littleEndian ? offset : offset + 2, littleEndian);
+        return (hi << 16) | lo;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                throw new IOException("Unexpected end of image");
+            }
+            bytes -= skipped;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.Notification;
+import com.uumevent.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Sends queued mail in batches. A claimed batch is split over mail.connections senders; each sender
+// pushes its share through one SMTP connection (JavaMailSender.send(MimeMessage...)), so connection
+// setup and authentication are paid once per chunk rather than per message. Failed messages are
+// retried with exponential backoff and marked failed after mail.retry.max-attempts.
+//
+// No transaction or connection is held while SMTP runs: a batch is claimed in one short
+// transaction, which pushes its next attempt mail.claim-timeout-ms ahead so other nodes leave it
+// alone, and the outcomes are written in a second one. Mail claimed by a node that dies is sent
+// again once the claim runs out.
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationRepository notificationRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor mailTaskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final String from;
+    private final int batchSize;
+    private final int connections;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    public NotificationDispatcher(NotificationRepository notificationRepository, JavaMailSender mailSender,
+                                  @Qualifier("mailTaskExecutor") ThreadPoolTaskExecutor mailTaskExecutor,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  @Value("${mail.from:no-reply@uum.edu.my}") String from,
+                                  @Value("${mail.batch-size:50}") int batchSize,
+                                  @Value("${mail.connections:2}") int connections,
+                                  @Value("${mail.retry.max-attempts:6}") int maxAttempts,
+                                  @Value("${mail.retry.initial-backoff-ms:30000}") long initialBackoffMillis,
+                                  @Value("${mail.retry.max-backoff-ms:3600000}") long maxBackoffMillis,
+                                  @Value("${mail.claim-timeout-ms:300000}") long claimTimeoutMillis) {
+        this.notificationRepository = notificationRepository;
+        this.mailSender = mailSender;
+        this.mailTaskExecutor = mailTaskExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.connections = Math.max(1, connections);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+        this.sentCounter = notificationOutcomeCounter(meterRegistry, "sent");
+        this.retryCounter = notificationOutcomeCounter(meterRegistry, "retry");
+        this.failedCounter = notificationOutcomeCounter(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${mail.poll-interval-ms:2000}")
+    public void dispatch() {
+        int sent;
+        do {
+            sent = dispatchBatch();
+        } while (sent >= batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<Notification> due = transactionTemplate.execute(status -> claimDue());
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<Map<Notification, Exception>>> chunks = new ArrayList<>();
+        int chunkSize = (due.size() + connections - 1) / connections;
+        for (int start = 0; start < due.size(); start += chunkSize) {
+            List<Notification> chunk = due.subList(start, Math.min(start + chunkSize, due.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> send(chunk), mailTaskExecutor));
+        }
+        Map<Long, Exception> failures = new HashMap<>();
+        chunks.forEach(chunk -> chunk.join().forEach((notification, failure) -> failures.put(notification.getId(), failure)));
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(due, failures));
+        if (!failures.isEmpty()) {
+            logger.warn("{} of {} mails could not be sent", failures.size(), due.size());
+        }
+        return due.size();
+    }
+
+    private List<Notification> claimDue() {
+        Instant now = Instant.now();
+        List<Notification> due = notificationRepository.claimDue(now, batchSize);
+        if (!due.isEmpty()) {
+            notificationRepository.postpone(due.stream().map(Notification::getId).toList(), now.plus(claimTimeout));
+        }
+        return due;
+    }
+
+    private void recordOutcomes(List<Notification> due, Map<Long, Exception> failures) {
+        Instant now = Instant.now();
+        for (Notification notification : notificationRepository.findAllById(due.stream().map(Notification::getId).toList())) {
+            if (!Notification.STATUS_PENDING.equals(notification.getStatus())) {
+                continue; // the claim ran out and another node already finished it
+            }
+            Exception failure = failures.get(notification.getId());
+            notification.setAttempts(notification.getAttempts() + 1);
+            if (failure == null) {
+                notification.setStatus(Notification.STATUS_SENT);
+                notification.setSentAt(now);
+                notification.setLastError(null);
+                sentCounter.increment();
+            } else if (notification.getAttempts() >= maxAttempts || failure instanceof IllegalArgumentException) {
+                notification.setStatus(Notification.STATUS_FAILED);
+                notification.setLastError(truncate(failure.getMessage()));
+                failedCounter.increment();
+                logger.warn("Giving up on mail {} to {} after {} attempts: {}", notification.getId(), notification.getRecipient(), notification.getAttempts(), failure.getMessage());
+            } else {
+                notification.setNextAttemptAt(now.plus(backoff(notification.getAttempts())));
+                notification.setLastError(truncate(failure.getMessage()));
+                retryCounter.increment();
+            }
+        }
+    }
+
+    // One SMTP connection for the whole chunk. Messages that cannot even be built (bad address) are
+    // reported as IllegalArgumentException and not retried; send errors are reported per message
+    // where the server tells us which, otherwise for the whole chunk.
+    private Map<Notification, Exception> send(List<Notification> chunk) {
+        Map<Notification, Exception> failures = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+        Map<MimeMessage, Notification> byMessage = new IdentityHashMap<>();
+        for (Notification notification : chunk) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(from);
+                helper.setTo(notification.getRecipient());
+                helper.setSubject(notification.getSubject());
+                helper.setText(notification.getBody());
+                messages.add(message);
+                byMessage.put(message, notification);
+            } catch (MessagingException e) {
+                failures.put(notification, new IllegalArgumentException(e.getMessage(), e));
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.values().forEach(notification -> failures.put(notification, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put(byMessage.get(message), cause));
+        } catch (MailException e) {
+            byMessage.values().forEach(notification -> failures.put(notification, e));
+        }
+        return failures;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private static Counter notificationOutcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notifications.outcome")
+                .description("Mail delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.Event;
+import com.uumevent.entity.Notification;
+import com.uumevent.entity.Registration;
+import com.uumevent.entity.Ticket;
+import com.uumevent.repository.NotificationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Queues outgoing mail in the caller's transaction; NotificationDispatcher sends it later, so a
+// request never waits on SMTP and a rolled back registration never sends a confirmation.
+@Service
+public class NotificationService {
+
+    private static final int MAX_SUBJECT_LENGTH = 255; // notifications.subject
+
+    private final NotificationRepository notificationRepository;
+
+    public NotificationService(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationConfirmed(Registration registration, Ticket ticket) {
+        Event event = registration.getEvent();
+        String recipient = registration.getAttendeeEmail() != null && !registration.getAttendeeEmail().isBlank()
+                ? registration.getAttendeeEmail()
+                : registration.getUser().getEmail();
+        String name = registration.getAttendeeName() != null && !registration.getAttendeeName().isBlank()
+                ? registration.getAttendeeName()
+                : registration.getUser().getName();
+
+        StringBuilder body = new StringBuilder()
+                .append("Hi ").append(name).append(",\n\n")
+                .append("You are registered for ").append(event.getTitle()).append(".\n\n")
+                .append("Date: ").append(event.getDate()).append(event.getTime() != null ? " " + event.getTime() : "").append('\n')
+                .append("Venue: ").append(event.getVenue()).append(", ").append(event.getLocation()).append('\n')
+                .append("Ticket: ").append(ticket.getTicketType()).append('\n')
+                .append("Ticket code: ").append(ticket.getQrCode()).append("\n\n");
+        if (registration.getSpecialRequests() != null && !registration.getSpecialRequests().isBlank()) {
+            body.append("Your special requests: ").append(registration.getSpecialRequests()).append("\n\n");
+        }
+        body.append("Show the ticket code at the entrance. See you there!\n");
+
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setSubject(subject("Registration confirmed: " + event.getTitle()));
+        notification.setBody(body.toString());
+        notificationRepository.save(notification);
+    }
+
+    private static String subject(String subject) {
+        return subject.length() <= MAX_SUBJECT_LENGTH ? subject : subject.substring(0, MAX_SUBJECT_LENGTH - 3) + "...";
+    }
+}
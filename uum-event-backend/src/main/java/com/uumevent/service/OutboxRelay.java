@@ -0,0 +1,143 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.OutboxEvent;
+import com.uumevent.repository.OutboxEventRepository;
+import com.uumevent.service.outbox.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Polls the outbox and hands batches to every OutboxSink. A batch is claimed in a short transaction
+// (FOR UPDATE SKIP LOCKED, then stamped with a claim id and claimed_until), delivered with no
+// transaction or connection held, and deleted in a second short transaction. Relays on other nodes
+// skip a claimed batch while it is in flight; it is released at once when a sink fails and becomes
+// claimable again after outbox.claim-timeout-ms if the node dies. The timeout must exceed the time
+// the sinks take for one batch, or a slow batch is delivered twice. A poll keeps taking batches
+// while they come back full, up to max-batches-per-poll.
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration claimTimeout;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+    private final Timer deliveryLagTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       @Value("${outbox.batch-size:100}") int batchSize,
+                       @Value("${outbox.max-batches-per-poll:50}") int maxBatchesPerPoll,
+                       @Value("${outbox.claim-timeout-ms:60000}") long claimTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Outbox events delivered to every sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.failures")
+                .description("Outbox batches a sink rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.batch")
+                .description("Time for every sink to accept one outbox batch")
+                .register(meterRegistry);
+        this.deliveryLagTimer = Timer.builder("outbox.delivery.lag")
+                .description("Time from commit to delivery of an outbox event")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age in seconds of the oldest event in the last claimed batch, 0 when the outbox was empty")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            int delivered;
+            try {
+                delivered = relayBatch();
+            } catch (RuntimeException e) {
+                failureCounter.increment();
+                logger.warn("Outbox delivery failed, retrying at the next poll: {}", e.getMessage());
+                return;
+            }
+            if (delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        String claim = UUID.randomUUID().toString();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch(claim));
+        if (batch == null || batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        Instant claimedAt = Instant.now();
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), claimedAt).toMillis());
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        try {
+            batchTimer.record(() -> publish(batch));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.release(ids, claim));
+            throw e;
+        }
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteClaimed(ids, claim));
+        if (deleted == null || deleted < ids.size()) {
+            logger.warn("Outbox claim {} expired during delivery; {} of {} events will be delivered again",
+                    claim, ids.size() - (deleted == null ? 0 : deleted), ids.size());
+        }
+        Instant deliveredAt = Instant.now();
+        for (OutboxEvent event : batch) {
+            deliveryLagTimer.record(Duration.between(event.getCreatedAt(), deliveredAt));
+        }
+        publishedCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claimBatch(String claim) {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(batchSize, now);
+        if (!batch.isEmpty()) {
+            outboxEventRepository.markClaimed(batch.stream().map(OutboxEvent::getId).toList(), claim, now.plus(claimTimeout));
+        }
+        return batch;
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while publishing to outbox sink " + sink.name(), e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink " + sink.name() + " failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.uumevent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uumevent.entity.Event;
+import com.uumevent.entity.OutboxEvent;
+import com.uumevent.entity.Registration;
+import com.uumevent.entity.Ticket;
+import com.uumevent.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Records domain events in the outbox table inside the caller's transaction, so an event is
+// published (by OutboxRelay) if and only if the change it describes committed. Downstream systems
+// are never called on the request path.
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventCreated(Event event) {
+        record("event", event.getId(), "EventCreated", eventPayload(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventUpdated(Event event) {
+        record("event", event.getId(), "EventUpdated", eventPayload(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventDeleted(Event event) {
+        record("event", event.getId(), "EventDeleted", Map.of("id", event.getId()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationConfirmed(Registration registration, Ticket ticket) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", registration.getId());
+        payload.put("eventId", registration.getEvent().getId());
+        payload.put("userId", registration.getUser().getId());
+        payload.put("ticketId", ticket.getId());
+        payload.put("ticketType", ticket.getTicketType());
+        payload.put("price", ticket.getPrice());
+        payload.put("registeredAt", registration.getRegistrationDate());
+        record("registration", registration.getId(), "RegistrationConfirmed", payload);
+    }
+
+    private void record(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " payload", e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private static Map<String, Object> eventPayload(Event event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.getId());
+        payload.put("title", event.getTitle());
+        payload.put("date", event.getDate());
+        payload.put("time", event.getTime());
+        payload.put("location", event.getLocation());
+        payload.put("venue", event.getVenue());
+        payload.put("category", event.getCategory());
+        payload.put("price", event.getPrice());
+        payload.put("maxAttendees", event.getMaxAttendees());
+        payload.put("status", event.getStatus());
+        payload.put("organizerId", event.getOrganizer().getId());
+        return payload;
+    }
+}
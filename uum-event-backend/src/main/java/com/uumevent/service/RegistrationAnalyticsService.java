@@ -0,0 +1,333 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.RegistrationTimeSeriesDto;
+import com.uumevent.entity.RegistrationBucket;
+import com.uumevent.repository.EventRepository;
+import com.uumevent.repository.RegistrationBucketRepository;
+import com.uumevent.repository.RegistrationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registrations per event over time, counted in memory in fixed-size ring buffers at minute, hour
+// and day resolution, so reading a series never touches the database. Every registration bumps
+// one bucket per resolution; a slot is reused once its bucket falls out of the ring's window.
+// Every checkpoint interval (and on shutdown) each bucket's growth since the previous checkpoint
+// is added to registration_buckets, so with several instances the rows hold the sum of the
+// registrations they all served. The rows are reloaded at startup, so a crash loses at most one
+// interval; an instance's series show the totals at its start plus the registrations it served.
+@Service
+public class RegistrationAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationAnalyticsService.class);
+
+    public enum Resolution {
+        MINUTE(Duration.ofMinutes(1), 24 * 60),
+        HOUR(Duration.ofHours(1), 30 * 24),
+        DAY(Duration.ofDays(1), 2 * 365);
+
+        private final long widthMillis;
+        private final int slots;
+
+        Resolution(Duration width, int slots) {
+            this.widthMillis = width.toMillis();
+            this.slots = slots;
+        }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Resolution fromKey(String key) {
+            for (Resolution resolution : values()) {
+                if (resolution.key().equalsIgnoreCase(key)) {
+                    return resolution;
+                }
+            }
+            throw new IllegalArgumentException("Unknown resolution: " + key);
+        }
+
+        long bucketOf(Instant instant) {
+            return Math.floorDiv(instant.toEpochMilli(), widthMillis);
+        }
+
+        Instant startOf(long bucket) {
+            return Instant.ofEpochMilli(bucket * widthMillis);
+        }
+
+        Duration span() {
+            return Duration.ofMillis(widthMillis * slots);
+        }
+    }
+
+    private final RegistrationBucketRepository bucketRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final Map<Long, EventSeries> series = new ConcurrentHashMap<>();
+
+    public RegistrationAnalyticsService(RegistrationBucketRepository bucketRepository, RegistrationRepository registrationRepository, EventRepository eventRepository) {
+        this.bucketRepository = bucketRepository;
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    // Restores the rings from the last checkpoint. The first start after the table was introduced
+    // has no checkpoint yet, so the series are rebuilt once from the registrations table and
+    // written unless another instance, rebuilding at the same time, already did.
+    @PostConstruct
+    public void init() {
+        Instant since = Instant.now().minus(Resolution.DAY.span());
+        List<RegistrationBucket> checkpoint = bucketRepository.findByBucketStartGreaterThanEqual(since);
+        if (!checkpoint.isEmpty()) {
+            for (RegistrationBucket bucket : checkpoint) {
+                Resolution resolution = Resolution.fromKey(bucket.getResolution());
+                seriesOf(bucket.getEventId()).ring(resolution).restore(resolution.bucketOf(bucket.getBucketStart()), bucket.getRegistrations());
+            }
+            logger.info("Restored registration time series for {} events from {} checkpointed buckets", series.size(), checkpoint.size());
+            return;
+        }
+        List<Object[]> registrations = registrationRepository.findRegistrationTimesSince(since);
+        for (Object[] registration : registrations) {
+            if (registration[1] != null) {
+                record((Long) registration[0], (Instant) registration[1]);
+            }
+        }
+        if (!registrations.isEmpty()) {
+            flush(true);
+            logger.info("Rebuilt registration time series for {} events from {} registrations", series.size(), registrations.size());
+        }
+    }
+
+    // Counts the registration once the surrounding transaction commits, so rolled back
+    // registrations (sold out, duplicates) never show up in the series.
+    public void registrationCommitted(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(eventId, Instant.now());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(eventId, Instant.now());
+            }
+        });
+    }
+
+    public RegistrationTimeSeriesDto getTimeSeries(Long eventId, String resolutionKey, int limit, String organizerEmail) {
+        return getTimeSeries(eventId, resolutionKey, limit, organizerEmail, Instant.now());
+    }
+
+    // Package-private so tests can move the clock.
+    RegistrationTimeSeriesDto getTimeSeries(Long eventId, String resolutionKey, int limit, String organizerEmail, Instant now) {
+        Resolution resolution = Resolution.fromKey(resolutionKey);
+        if (limit < 1 || limit > resolution.slots) {
+            throw new IllegalArgumentException("limit must be between 1 and " + resolution.slots);
+        }
+        EventSeries eventSeries = series.get(eventId);
+        String organizer = eventSeries != null && eventSeries.organizerEmail != null
+                ? eventSeries.organizerEmail
+                : eventRepository.findOrganizerEmailById(eventId).orElseThrow(() -> new RuntimeException("Event not found"));
+        if (!organizer.equals(organizerEmail)) {
+            throw new AccessDeniedException("You are not the organizer of this event.");
+        }
+        if (eventSeries != null) {
+            eventSeries.organizerEmail = organizer;
+        }
+
+        long last = resolution.bucketOf(now);
+        int[] counts = eventSeries == null ? new int[limit] : eventSeries.ring(resolution).read(last - limit + 1, limit);
+        List<RegistrationTimeSeriesDto.Point> points = new ArrayList<>(limit);
+        int total = 0;
+        for (int i = 0; i < limit; i++) {
+            points.add(new RegistrationTimeSeriesDto.Point(resolution.startOf(last - limit + 1 + i), counts[i]));
+            total += counts[i];
+        }
+
+        RegistrationTimeSeriesDto dto = new RegistrationTimeSeriesDto();
+        dto.setEventId(eventId);
+        dto.setResolution(resolution.key());
+        dto.setTotal(total);
+        dto.setBuckets(points);
+        return dto;
+    }
+
+    public void eventDeleted(Long eventId) {
+        bucketRepository.deleteByEventId(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            series.remove(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                series.remove(eventId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.checkpoint-interval-ms:60000}", initialDelayString = "${analytics.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        int written = flush(false);
+        Instant now = Instant.now();
+        for (Resolution resolution : Resolution.values()) {
+            bucketRepository.deleteOlderThan(resolution.key(), now.minus(resolution.span()));
+        }
+        if (written > 0) {
+            logger.debug("Checkpointed {} registration buckets", written);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            logger.warn("Final checkpoint of registration time series failed: {}", e.getMessage());
+        }
+    }
+
+    // Writes what each bucket gained since it was last written: added to the row, or, when seeding
+    // the table after a rebuild, inserted only if the row does not exist yet. A failed write is
+    // handed back to its ring and retried at the next checkpoint.
+    private int flush(boolean seed) {
+        int written = 0;
+        for (Map.Entry<Long, EventSeries> entry : series.entrySet()) {
+            for (Resolution resolution : Resolution.values()) {
+                Ring ring = entry.getValue().ring(resolution);
+                for (long[] bucket : ring.drainUnflushed()) {
+                    try {
+                        if (seed) {
+                            bucketRepository.insertIfAbsent(entry.getKey(), resolution.key(), resolution.startOf(bucket[0]), (int) bucket[1]);
+                        } else {
+                            bucketRepository.add(entry.getKey(), resolution.key(), resolution.startOf(bucket[0]), (int) bucket[1]);
+                        }
+                        written++;
+                    } catch (RuntimeException e) {
+                        ring.unflushed(bucket[0], (int) bucket[1]);
+                        logger.warn("Checkpoint of registration bucket {}/{}/{} failed: {}", entry.getKey(), resolution.key(), bucket[0], e.getMessage());
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    // Package-private so tests can record registrations at any time.
+    void record(Long eventId, Instant at) {
+        EventSeries eventSeries = seriesOf(eventId);
+        for (Resolution resolution : Resolution.values()) {
+            eventSeries.ring(resolution).increment(resolution.bucketOf(at));
+        }
+    }
+
+    private EventSeries seriesOf(Long eventId) {
+        return series.computeIfAbsent(eventId, id -> new EventSeries());
+    }
+
+    private static final class EventSeries {
+        private final Ring[] rings = new Ring[Resolution.values().length];
+        private volatile String organizerEmail; // organizers never change, cached for the ownership check
+
+        EventSeries() {
+            for (Resolution resolution : Resolution.values()) {
+                rings[resolution.ordinal()] = new Ring(resolution.slots);
+            }
+        }
+
+        Ring ring(Resolution resolution) {
+            return rings[resolution.ordinal()];
+        }
+    }
+
+    // Slot i holds bucket number buckets[i] (with i == bucket mod size); a slot still holding an
+    // older bucket reads as zero and is reset before it is reused. flushed[i] is the part of
+    // counts[i] already in registration_buckets.
+    private static final class Ring {
+        private final long[] buckets;
+        private final int[] counts;
+        private final int[] flushed;
+        private long newest = Long.MIN_VALUE;
+
+        Ring(int size) {
+            buckets = new long[size];
+            counts = new int[size];
+            flushed = new int[size];
+            Arrays.fill(buckets, Long.MIN_VALUE);
+        }
+
+        synchronized void increment(long bucket) {
+            if (newest != Long.MIN_VALUE && bucket <= newest - buckets.length) {
+                return;
+            }
+            int slot = slotOf(bucket);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                counts[slot] = 0;
+                flushed[slot] = 0;
+            }
+            counts[slot]++;
+            newest = Math.max(newest, bucket);
+        }
+
+        synchronized void restore(long bucket, int count) {
+            int slot = slotOf(bucket);
+            if (buckets[slot] == Long.MIN_VALUE || buckets[slot] < bucket) {
+                buckets[slot] = bucket;
+                counts[slot] = count;
+                flushed[slot] = count;
+                newest = Math.max(newest, bucket);
+            }
+        }
+
+        synchronized int[] read(long first, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                int slot = slotOf(first + i);
+                if (buckets[slot] == first + i) {
+                    result[i] = counts[slot];
+                }
+            }
+            return result;
+        }
+
+        // The buckets that grew since they were last drained, with their growth.
+        synchronized List<long[]> drainUnflushed() {
+            List<long[]> drained = new ArrayList<>();
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] != flushed[slot]) {
+                    drained.add(new long[]{buckets[slot], counts[slot] - flushed[slot]});
+                    flushed[slot] = counts[slot];
+                }
+            }
+            return drained;
+        }
+
+        // Growth that could not be written; dropped if the slot has moved on to a newer bucket.
+        synchronized void unflushed(long bucket, int growth) {
+            int slot = slotOf(bucket);
+            if (buckets[slot] == bucket) {
+                flushed[slot] -= growth;
+            }
+        }
+
+        private int slotOf(long bucket) {
+            return (int) Math.floorMod(bucket, (long) buckets.length);
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.uumevent.dto.RegistrationRequestDto;
 import com.uumevent.dto.TicketDto;
 import com.uumevent.entity.*;
 import com.uumevent.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -19,12 +22,42 @@ public class RegistrationService {
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final ImageVariantService imageVariantService;
+    private final EventStatsService eventStatsService;
+    private final RegistrationAnalyticsService registrationAnalyticsService;
+    private final SeatUpdateBroadcaster seatUpdateBroadcaster;
+    private final OutboxService outboxService;
+    private final NotificationService notificationService;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final TicketQrService ticketQrService;
+    // Ticket lists (live and archived) by user email.
+    private final CoherentCache<List<TicketDto>> ticketCache;
+    private final Counter registeredCounter;
+    private final Counter soldOutCounter;
+    private final Counter duplicateCounter;
 
-    public RegistrationService(EventRepository eventRepository, UserRepository userRepository, RegistrationRepository registrationRepository, TicketRepository ticketRepository) {
+    public RegistrationService(EventRepository eventRepository, UserRepository userRepository, RegistrationRepository registrationRepository, TicketRepository ticketRepository, ArchivedTicketRepository archivedTicketRepository,
+                               ImageVariantService imageVariantService, EventStatsService eventStatsService, RegistrationAnalyticsService registrationAnalyticsService,
+                               SeatUpdateBroadcaster seatUpdateBroadcaster, OutboxService outboxService, NotificationService notificationService, CacheCoherenceService cacheCoherenceService,
+                               TicketQrService ticketQrService, MeterRegistry meterRegistry) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.registrationRepository = registrationRepository;
         this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.imageVariantService = imageVariantService;
+        this.eventStatsService = eventStatsService;
+        this.registrationAnalyticsService = registrationAnalyticsService;
+        this.seatUpdateBroadcaster = seatUpdateBroadcaster;
+        this.outboxService = outboxService;
+        this.notificationService = notificationService;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.ticketQrService = ticketQrService;
+        this.ticketCache = cacheCoherenceService.register(CacheCoherenceService.TICKETS);
+        this.registeredCounter = registrationOutcomeCounter(meterRegistry, "success");
+        this.soldOutCounter = registrationOutcomeCounter(meterRegistry, "sold_out");
+        this.duplicateCounter = registrationOutcomeCounter(meterRegistry, "duplicate");
     }
 
     @Transactional
@@ -36,10 +69,12 @@ public class RegistrationService {
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
         if (registrationRepository.existsByUserAndEvent(user, event)) {
+            duplicateCounter.increment();
             throw new IllegalStateException("User already registered for this event.");
         }
 
         if (event.getCurrentAttendees() >= event.getMaxAttendees()) {
+            soldOutCounter.increment();
             throw new IllegalStateException("Event is sold out.");
         }
 
@@ -48,7 +83,12 @@ public class RegistrationService {
         registration.setUser(user);
         registration.setEvent(event);
         registration.setStatus("confirmed");
-        // You could also save the other requestDto details here if needed in the Registration entity
+        if (requestDto != null) {
+            registration.setAttendeeName(requestDto.getName());
+            registration.setAttendeeEmail(requestDto.getEmail());
+            registration.setAttendeePhone(requestDto.getPhone());
+            registration.setSpecialRequests(requestDto.getSpecialRequests());
+        }
         Registration savedRegistration = registrationRepository.save(registration);
 
         // 2. Create the ticket
@@ -62,18 +102,64 @@ public class RegistrationService {
 
         // 3. Update the event's attendee count
         event.setCurrentAttendees(event.getCurrentAttendees() + 1);
+        if (event.getCurrentAttendees() >= event.getMaxAttendees() && Event.STATUS_UPCOMING.equals(event.getStatus())) {
+            event.setStatus(Event.STATUS_SOLD_OUT);
+        }
         eventRepository.save(event);
+        eventStatsService.registrationAdded(event, savedTicket.getPrice());
+        registrationAnalyticsService.registrationCommitted(event.getId());
+        seatUpdateBroadcaster.seatsChanged(event);
+        outboxService.registrationConfirmed(savedRegistration, savedTicket);
+        notificationService.registrationConfirmed(savedRegistration, savedTicket);
+        cacheCoherenceService.invalidate(CacheCoherenceService.EVENTS, String.valueOf(event.getId()));
+        cacheCoherenceService.invalidate(CacheCoherenceService.TICKETS, user.getEmail());
 
+        registeredCounter.increment();
         return mapTicketToDto(savedTicket);
     }
 
-    @Transactional(readOnly = true)
+    // No transaction here: the cache loads the list in one of its own, from the primary.
     public List<TicketDto> getTicketsForUser(String userEmail) {
+        return ticketCache.get(userEmail, () -> loadTicketsForUser(userEmail));
+    }
+
+    // Looked up in the user's (cached) ticket list, so other users' tickets are never found.
+    public Optional<TicketDto> findTicketForUser(Long ticketId, String userEmail) {
+        return getTicketsForUser(userEmail).stream()
+                .filter(ticket -> ticket.getId().equals(ticketId))
+                .findFirst();
+    }
+
+    // For signed links, which name the ticket but not its holder. Read-write so that it runs on the
+    // primary: the links are handed out right after registering, possibly before a replica has
+    // the ticket.
+    @Transactional
+    public Optional<TicketDto> findTicket(Long ticketId) {
+        Optional<TicketDto> ticket = ticketRepository.findWithEventById(ticketId).map(this::mapTicketToDto);
+        if (ticket.isPresent()) {
+            return ticket;
+        }
+        return archivedTicketRepository.findById(ticketId).map(this::mapArchivedTicketToDto);
+    }
+
+    private List<TicketDto> loadTicketsForUser(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userEmail));
-        return ticketRepository.findByUser(user).stream()
+        // Tickets of events that have been archived are appended from the archive tables.
+        List<TicketDto> tickets = ticketRepository.findByUser(user).stream()
                 .map(this::mapTicketToDto)
                 .collect(Collectors.toList());
+        archivedTicketRepository.findByUserId(user.getId()).stream()
+                .map(this::mapArchivedTicketToDto)
+                .forEach(tickets::add);
+        return List.copyOf(tickets);
+    }
+
+    private static Counter registrationOutcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("registrations.outcome")
+                .description("Registration attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
      private TicketDto mapTicketToDto(Ticket ticket) {
@@ -90,8 +176,35 @@ public class RegistrationService {
                 .ticketType(ticket.getTicketType())
                 // --- ADD THE FOLLOWING MAPPINGS ---
                 .eventVenue(event.getVenue())
+                .eventImageUrl(imageVariantService.preferredUrl(event.getImageUrl(), event.getImageAsset(), ImageVariantService.Variant.CARD))
+                .eventTime(event.getTime())
+                .qrImageUrl(qrImageUrl(ticket.getId()))
+                .pdfUrl("/api/tickets/" + ticket.getId() + "/ticket.pdf")
+                .build();
+    }
+
+    private TicketDto mapArchivedTicketToDto(ArchivedTicket ticket) {
+        ArchivedEvent event = ticket.getRegistration().getEvent();
+        return TicketDto.builder()
+                .id(ticket.getId())
+                .eventTitle(event.getTitle())
+                .eventDate(event.getDate().toString())
+                .eventLocation(event.getLocation())
+                .purchaseDate(ticket.getPurchaseDate())
+                .status(ticket.getStatus())
+                .qrCode(ticket.getQrCode())
+                .price(ticket.getPrice())
+                .ticketType(ticket.getTicketType())
+                .eventVenue(event.getVenue())
                 .eventImageUrl(event.getImageUrl())
                 .eventTime(event.getTime())
+                .qrImageUrl(qrImageUrl(ticket.getId()))
+                .pdfUrl("/api/tickets/" + ticket.getId() + "/ticket.pdf")
                 .build();
     }
-}
\ No newline at end of file
+
+    // The version changes with the rendering, so the image behind a URL never does.
+    private String qrImageUrl(Long ticketId) {
+        return "/api/tickets/" + ticketId + "/qr.png?v=" + ticketQrService.version();
+    }
+}
@@ -0,0 +1,331 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.SeatUpdateDto;
+import com.uumevent.entity.Event;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pushes seat counts to server-sent event subscribers. Changes are coalesced per event: only the
+// latest count of each event is kept until the next flush (every coalesce window), so a burst of
+// registrations becomes one message per event. Each message is built once and queued for every
+// subscriber interested in that event; a subscriber's queue is drained by the shared sse writer
+// pool. A subscriber whose queue fills up is too slow to keep up and is disconnected (EventSource
+// reconnects and gets a fresh snapshot), so one stalled client never holds back the others or
+// grows the heap.
+//
+// Only a subscriber's writer touches its emitter: send() blocks while the socket is full and holds
+// the emitter's lock, so the flush thread never calls complete() itself but marks the subscriber
+// closing and lets the writer complete it. A write still blocked after sse.write-timeout-ms
+// disconnects its subscriber the same way, and while it stays blocked the writer pool gets one
+// extra thread (up to sse.max-stalled-writers), so stalled sockets cannot take every writer.
+@Service
+public class SeatUpdateBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatUpdateBroadcaster.class);
+
+    private final TaskExecutor sseTaskExecutor;
+    private final int clientBuffer;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final int maxStalledWriters;
+    private int stalledWriters; // guarded by this
+    private final Map<Long, SeatUpdateDto> pending = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscribers with a send() in progress, including ones already disconnected.
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter overflowCounter;
+    private final Counter stalledCounter;
+
+    public SeatUpdateBroadcaster(@Qualifier("sseTaskExecutor") TaskExecutor sseTaskExecutor, MeterRegistry meterRegistry,
+                                 @Value("${sse.coalesce-window-ms:250}") long coalesceWindowMillis,
+                                 @Value("${sse.heartbeat-interval-ms:15000}") long heartbeatMillis,
+                                 @Value("${sse.client-buffer:64}") int clientBuffer,
+                                 @Value("${sse.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${sse.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${sse.write-timeout-ms:5000}") long writeTimeoutMillis,
+                                 @Value("${sse.max-stalled-writers:64}") int maxStalledWriters) {
+        this.sseTaskExecutor = sseTaskExecutor;
+        this.clientBuffer = clientBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.maxStalledWriters = maxStalledWriters;
+        this.overflowCounter = droppedCounter(meterRegistry, "buffer-full");
+        this.stalledCounter = droppedCounter(meterRegistry, "write-timeout");
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open seat update streams")
+                .register(meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flush, coalesceWindowMillis, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Published once the registration (or capacity change) commits; rolled back changes never go out.
+    public void seatsChanged(Event event) {
+        SeatUpdateDto update = new SeatUpdateDto(event.getId(), event.getCurrentAttendees(), event.getMaxAttendees(),
+                event.getCurrentAttendees() >= event.getMaxAttendees());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.put(update.getEventId(), update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.merge(update.getEventId(), update,
+                        (previous, next) -> next.getCurrentAttendees() >= previous.getCurrentAttendees() || next.getMaxAttendees() != previous.getMaxAttendees() ? next : previous);
+            }
+        });
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    // eventIds empty means every event. The snapshot is sent first so the client starts from
+    // current counts rather than waiting for the next change.
+    public SseEmitter subscribe(Set<Long> eventIds, Collection<SeatUpdateDto> snapshot) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open streams.");
+        }
+        return subscribe(eventIds, snapshot, new SseEmitter(timeoutMillis));
+    }
+
+    // Package-private so tests can stand in for the client's connection.
+    SseEmitter subscribe(Set<Long> eventIds, Collection<SeatUpdateDto> snapshot, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(eventIds));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        for (SeatUpdateDto update : snapshot) {
+            subscriber.offer(message(update));
+        }
+        return emitter;
+    }
+
+    private void flush() {
+        dropStalledSubscribers();
+        if (pending.isEmpty() || subscribers.isEmpty()) {
+            pending.clear();
+            return;
+        }
+        for (Long eventId : List.copyOf(pending.keySet())) {
+            SeatUpdateDto update = pending.remove(eventId);
+            if (update == null) {
+                continue;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> message = message(update);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(eventId)) {
+                    subscriber.offer(message);
+                }
+            }
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : writing) {
+            if (subscriber.stallIfWritingLongerThan(writeTimeoutNanos, now) && subscriber.close()) {
+                stalledCounter.increment();
+            }
+        }
+    }
+
+    // Runs one more writer while a stalled write holds a thread. Virtual thread writers need none.
+    private synchronized boolean addStalledWriter() {
+        if (!(sseTaskExecutor instanceof ThreadPoolTaskExecutor pool) || stalledWriters >= maxStalledWriters) {
+            return false;
+        }
+        stalledWriters++;
+        pool.setMaxPoolSize(pool.getMaxPoolSize() + 1);
+        pool.setCorePoolSize(pool.getCorePoolSize() + 1);
+        return true;
+    }
+
+    private synchronized void removeStalledWriter() {
+        ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) sseTaskExecutor;
+        stalledWriters--;
+        pool.setCorePoolSize(pool.getCorePoolSize() - 1);
+        pool.setMaxPoolSize(pool.getMaxPoolSize() - 1);
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.forEach(subscriber -> subscriber.offer(ping));
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> message(SeatUpdateDto update) {
+        return SseEmitter.event()
+                .name("seats")
+                .id(String.valueOf(update.getEventId()))
+                .data(update, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("sse.subscribers.dropped")
+                .description("Subscribers disconnected because their buffer was full or a write did not return")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> eventIds;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean closing; // guarded by queue
+        private long writeStartedNanos; // guarded by this; 0 while no write is in progress
+        private boolean stalled; // guarded by this
+        private boolean compensated; // guarded by this: the stalled write has an extra writer
+
+        Subscriber(SseEmitter emitter, Set<Long> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+
+        boolean wants(Long eventId) {
+            return eventIds.isEmpty() || eventIds.contains(eventId);
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            synchronized (queue) {
+                if (closing) {
+                    return;
+                }
+                if (queue.size() >= clientBuffer) {
+                    overflowCounter.increment();
+                    closeLocked();
+                } else {
+                    queue.add(message);
+                }
+            }
+            schedule();
+        }
+
+        // Disconnects without waiting: the writer completes the emitter once it is free.
+        boolean close() {
+            synchronized (queue) {
+                if (closing) {
+                    return false;
+                }
+                closeLocked();
+            }
+            schedule();
+            return true;
+        }
+
+        // Called by the flush thread. The extra writer is added before the stalled write can return
+        // and release it.
+        synchronized boolean stallIfWritingLongerThan(long nanos, long now) {
+            if (writeStartedNanos == 0 || stalled || now - writeStartedNanos <= nanos) {
+                return false;
+            }
+            stalled = true;
+            compensated = addStalledWriter();
+            return true;
+        }
+
+        private void closeLocked() {
+            closing = true;
+            queue.clear();
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sseTaskExecutor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> message;
+                    synchronized (queue) {
+                        if (closing) {
+                            break;
+                        }
+                        message = queue.poll();
+                        if (message == null) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    write(message);
+                }
+                // Left draining: a closed subscriber is never scheduled again.
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Seat update stream closed: {}", e.getMessage());
+                subscribers.remove(this);
+                draining.set(false);
+            }
+        }
+
+        private void write(Set<ResponseBodyEmitter.DataWithMediaType> message) throws IOException {
+            synchronized (this) {
+                writeStartedNanos = System.nanoTime();
+            }
+            writing.add(this);
+            try {
+                emitter.send(message);
+            } finally {
+                writing.remove(this);
+                boolean release;
+                synchronized (this) {
+                    writeStartedNanos = 0;
+                    release = compensated;
+                    compensated = false;
+                }
+                if (release) {
+                    removeStalledWriter();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.TicketDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// Short-lived signed links to a ticket's QR image and printable PDF. Browsers load those through
+// <img src> or a new tab, which cannot send the Bearer header, so the link itself carries the
+// authorization: an HMAC of the ticket id and an expiry. Expiries are rounded up to a multiple of
+// the lifetime, so a ticket's links (and the browser's copy of its QR image) stay the same for a
+// while; each link is valid for between one and two lifetimes.
+@Service
+public class TicketLinkService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlMs;
+
+    public TicketLinkService(@Value("${ticket.link.secret:${jwt.secret}}") String secret,
+                             @Value("${ticket.link.ttl-ms:600000}") long ttlMs) {
+        this.key = new SecretKeySpec(("ticket-link:" + secret).getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlMs = ttlMs;
+    }
+
+    // A copy, so cached tickets never carry an expiry.
+    public TicketDto withSignedLinks(TicketDto ticket) {
+        long expires = expiry(System.currentTimeMillis());
+        return ticket.toBuilder()
+                .qrImageUrl(sign(ticket.getQrImageUrl(), ticket.getId(), expires))
+                .pdfUrl(sign(ticket.getPdfUrl(), ticket.getId(), expires))
+                .build();
+    }
+
+    public boolean verify(Long ticketId, long expires, String signature) {
+        return verify(ticketId, expires, signature, System.currentTimeMillis());
+    }
+
+    // Package-private so tests can move the clock.
+    boolean verify(Long ticketId, long expires, String signature, long now) {
+        return expires >= now && MessageDigest.isEqual(
+                signature(ticketId, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    long expiry(long now) {
+        return (now / ttlMs + 2) * ttlMs;
+    }
+
+    private String sign(String url, Long ticketId, long expires) {
+        if (url == null) {
+            return null;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "expires=" + expires + "&signature=" + signature(ticketId, expires);
+    }
+
+    private String signature(Long ticketId, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((ticketId + ":" + expires).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign ticket links", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.uumevent.service;
+
+import com.google.zxing.common.BitMatrix;
+import com.uumevent.dto.TicketDto;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Printable ticket: a single A6 page with the event details and the QR code. The page only needs
+// the standard Helvetica fonts and filled rectangles (one per run of dark modules, so the code
+// prints sharp at any resolution), which is written directly as PDF 1.4 rather than through a
+// PDF library.
+@Service
+public class TicketPdfRenderer {
+
+    private static final int PAGE_WIDTH = 298;  // A6 in points
+    private static final int PAGE_HEIGHT = 420;
+    private static final int MARGIN = 24;
+    private static final int QR_SIZE = 200;
+    private static final int QR_TOP = 300;
+    private static final int QUIET_ZONE = 36; // clear space around the code, at least four modules
+    private static final int MAX_LINE_CHARS = 40;
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    private final TicketQrService ticketQrService;
+
+    public TicketPdfRenderer(TicketQrService ticketQrService) {
+        this.ticketQrService = ticketQrService;
+    }
+
+    public byte[] render(TicketDto ticket) {
+        StringBuilder content = new StringBuilder();
+        text(content, "F2", 14, MARGIN, 384, ticket.getEventTitle());
+        text(content, "F1", 10, MARGIN, 364, ticket.getEventDate() + (ticket.getEventTime() != null ? "  " + ticket.getEventTime() : ""));
+        text(content, "F1", 10, MARGIN, 350, join(ticket.getEventVenue(), ticket.getEventLocation()));
+        text(content, "F1", 10, MARGIN, 336, join(capitalize(ticket.getTicketType()) + " ticket #" + ticket.getId(),
+                ticket.getPrice() != null ? "RM " + ticket.getPrice().toPlainString() : null));
+        qrCode(content, ticketQrService.modules(ticket.getQrCode()));
+        text(content, "F1", 8, MARGIN, QR_TOP - QR_SIZE - QUIET_ZONE, ticket.getQrCode());
+        return document(content.toString().getBytes(WIN_ANSI));
+    }
+
+    // Dark modules as filled rectangles, one per horizontal run, centred under the text.
+    private static void qrCode(StringBuilder content, BitMatrix modules) {
+        double moduleSize = (double) QR_SIZE / modules.getWidth();
+        double left = (PAGE_WIDTH - QR_SIZE) / 2.0;
+        content.append("0 g\n");
+        for (int y = 0; y < modules.getHeight(); y++) {
+            int x = 0;
+            while (x < modules.getWidth()) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < modules.getWidth() && modules.get(x, y)) {
+                    x++;
+                }
+                number(content, left + start * moduleSize).append(' ');
+                number(content, QR_TOP - (y + 1) * moduleSize).append(' ');
+                number(content, (x - start) * moduleSize).append(' ');
+                number(content, moduleSize).append(" re\n");
+            }
+        }
+        content.append("f\n");
+    }
+
+    // Two decimals, always with a '.' whatever the default locale.
+    private static StringBuilder number(StringBuilder content, double value) {
+        long hundredths = Math.round(value * 100);
+        content.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        return content.append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    private static void text(StringBuilder content, String font, int size, int x, int y, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        content.append("BT /").append(font).append(' ').append(size).append(" Tf ")
+                .append(x).append(' ').append(y).append(" Td (").append(escape(truncate(value))).append(") Tj ET\n");
+    }
+
+    private static String join(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        return second == null || second.isBlank() ? first : first + ", " + second;
+    }
+
+    private static String capitalize(String value) {
+        return value == null || value.isEmpty() ? "Regular" : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_LINE_CHARS ? value : value.substring(0, MAX_LINE_CHARS - 3) + "...";
+    }
+
+    // Characters outside WinAnsiEncoding (the standard fonts' encoding) print as '?'.
+    private static String escape(String value) {
+        CharsetEncoder encoder = WIN_ANSI.newEncoder();
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '(' || c == ')' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || !encoder.canEncode(c)) {
+                escaped.append('?');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static byte[] document(byte[] content) {
+        List<String> objects = new ArrayList<>();
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                + "/Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents 6 0 R >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length + 1024);
+        List<Integer> offsets = new ArrayList<>();
+        write(out, "%PDF-1.4\n");
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(out.size());
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        offsets.add(out.size());
+        write(out, (objects.size() + 1) + " 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+        out.writeBytes(content);
+        write(out, "endstream\nendobj\n");
+
+        int xref = out.size();
+        StringBuilder trailer = new StringBuilder("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+        offsets.forEach(offset -> trailer.append(String.format("%010d 00000 n \n", offset)));
+        trailer.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        write(out, trailer.toString());
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,151 @@
+package com.uumevent.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Renders ticket codes as QR images server-side. A ticket's code never changes, so an image is
+// fully determined by the code and the rendering settings: rendered PNGs are kept in a cache
+// bounded by total bytes and keyed by both, and clients may cache them forever under a URL that
+// carries version().
+@Service
+public class TicketQrService {
+
+    // Bump when the rendering changes (error correction, quiet zone, colours) to move clients to new URLs.
+    private static final int RENDER_VERSION = 1;
+    private static final int QUIET_ZONE_MODULES = 4;
+
+    private final int sizePx;
+    private final long maxCacheBytes;
+    private final String version;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, byte[]> pngCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private long cachedBytes; // guarded by lock
+
+    public TicketQrService(MeterRegistry meterRegistry,
+                           @Value("${ticket.qr.size-px:320}") int sizePx,
+                           @Value("${ticket.qr.cache-max-bytes:8388608}") long maxCacheBytes) {
+        this.sizePx = sizePx;
+        this.maxCacheBytes = maxCacheBytes;
+        this.version = RENDER_VERSION + "-" + sizePx;
+        this.hits = gets(meterRegistry, "hit");
+        this.misses = gets(meterRegistry, "miss");
+        Gauge.builder("cache.size", pngCache, Map::size)
+                .tag("cache", "ticket-qr")
+                .register(meterRegistry);
+        Gauge.builder("ticket.qr.cache.bytes", this, TicketQrService::cachedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public byte[] png(String code) {
+        String key = code + ":" + version;
+        lock.lock();
+        try {
+            byte[] cached = pngCache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        byte[] rendered = renderPng(code);
+        lock.lock();
+        try {
+            if (pngCache.put(key, rendered) == null) {
+                cachedBytes += rendered.length;
+            }
+            Iterator<Map.Entry<String, byte[]>> eldest = pngCache.entrySet().iterator();
+            while (cachedBytes > maxCacheBytes && eldest.hasNext()) {
+                cachedBytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return rendered;
+    }
+
+    // One bit per module, without a quiet zone, for callers that draw the code themselves.
+    public BitMatrix modules(String code) {
+        return encode(code, 0, 0);
+    }
+
+    private byte[] renderPng(String code) {
+        BitMatrix matrix = encode(code, sizePx, QUIET_ZONE_MODULES);
+        // 1 bit per pixel (0 = black, 1 = white), written straight into the packed raster.
+        BufferedImage image = new BufferedImage(matrix.getWidth(), matrix.getHeight(), BufferedImage.TYPE_BYTE_BINARY);
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int stride = (matrix.getWidth() + 7) / 8;
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                if (!matrix.get(x, y)) {
+                    pixels[y * stride + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+        }
+        // An in-memory stream; ImageIO would otherwise buffer through a temporary file.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+            ImageIO.write(image, "png", stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Medium error correction keeps printed and scuffed codes readable.
+    private static BitMatrix encode(String code, int sizePx, int margin) {
+        try {
+            return new QRCodeWriter().encode(code, BarcodeFormat.QR_CODE, sizePx, sizePx,
+                    Map.of(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M, EncodeHintType.MARGIN, margin));
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Cannot encode ticket code as a QR code", e);
+        }
+    }
+
+    private long cachedBytes() {
+        lock.lock();
+        try {
+            return cachedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", "ticket-qr")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,174 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.RevokedToken;
+import com.uumevent.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final CacheCoherenceService cacheCoherenceService;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // Every revoked token id is added to the bloom filter, so a negative answer is definitive and
+    // the common case (token not revoked) never touches the database. Positives are confirmed
+    // against the exact set loaded from the revoked_tokens table.
+    private volatile BloomFilter filter;
+    private volatile Map<String, Instant> revokedIds = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, CacheCoherenceService cacheCoherenceService,
+                                  @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.cacheCoherenceService = cacheCoherenceService;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        cacheCoherenceService.onRemoteInvalidation(CacheCoherenceService.REVOKED_TOKENS, this::revokedElsewhere);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedIds.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setTokenId(tokenId);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedTokenRepository.save(revokedToken);
+        cacheCoherenceService.invalidate(CacheCoherenceService.REVOKED_TOKENS, tokenId);
+
+        synchronized (this) {
+            revokedIds.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        }
+    }
+
+    // Revocations committed on other instances take effect here within a poll interval instead of
+    // at the next reload.
+    private void revokedElsewhere(Set<String> tokenIds) {
+        List<RevokedToken> revoked = revokedTokenRepository.findAllById(tokenIds);
+        synchronized (this) {
+            for (RevokedToken revokedToken : revoked) {
+                revokedIds.put(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+                filter.put(revokedToken.getTokenId());
+            }
+        }
+    }
+
+    // Bloom filters cannot drop entries, so expired rows are purged and the filter is rebuilt
+    // from the table. This also picks up revocations made by other instances. Entries revoked
+    // locally while the table was being read are carried over so they are never dropped.
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:60000}")
+    public void reload() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> active = revokedTokenRepository.findActive(now);
+
+        synchronized (this) {
+            Map<String, Instant> ids = new ConcurrentHashMap<>(active.size());
+            for (RevokedToken revokedToken : active) {
+                ids.put(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+            }
+            revokedIds.forEach((id, expiresAt) -> {
+                if (expiresAt.isAfter(now)) {
+                    ids.putIfAbsent(id, expiresAt);
+                }
+            });
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, ids.size()), falsePositiveRate);
+            ids.keySet().forEach(rebuilt::put);
+            this.revokedIds = ids;
+            this.filter = rebuilt;
+        }
+
+        if (purged > 0) {
+            logger.info("Purged {} expired revoked tokens, {} still active", purged, active.size());
+        }
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        void put(String key) {
+            long[] hashes = hash(key);
+            for (int i = 0; i < hashCount; i++) {
+                long index = index(hashes, i);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long[] hashes = hash(key);
+            for (int i = 0; i < hashCount; i++) {
+                long index = index(hashes, i);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(long[] hashes, int i) {
+            return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+        }
+
+        // Token ids are random UUIDs, so their two halves already make independent hashes.
+        private static long[] hash(String key) {
+            try {
+                UUID uuid = UUID.fromString(key);
+                return new long[] { uuid.getMostSignificantBits(), uuid.getLeastSignificantBits() | 1 };
+            } catch (IllegalArgumentException e) {
+                long h = key.hashCode() * 0x9E3779B97F4A7C15L;
+                return new long[] { h, Long.rotateLeft(h, 31) * 0xC2B2AE3D27D4EB4FL | 1 };
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.ImageAsset;
+import com.uumevent.entity.StoredFile;
+import com.uumevent.repository.ArchivedEventRepository;
+import com.uumevent.repository.EventRepository;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.repository.StoredFileRepository;
+import com.uumevent.service.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Mark-and-sweep over the uploads directory. Event.imageUrl is the source of truth: the sweep
+// reconciles StoredFile reference counts with it and deletes files (and their derivatives) that
+// no event points at. A grace period protects uploads whose event has not been saved yet.
+// Uploads and event writes keep going while it runs, so each file is collected in a transaction
+// of its own that locks its StoredFile row and checks again that no upload deduplicated to it and
+// no event took it since the mark; an upload that finds the row gone stores the file again.
+@Service
+public class UploadGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final ImageAssetRepository imageAssetRepository;
+    private final StorageBackend storageBackend;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+
+    public UploadGarbageCollector(EventRepository eventRepository, ArchivedEventRepository archivedEventRepository, StoredFileRepository storedFileRepository,
+                                  ImageAssetRepository imageAssetRepository, StorageBackend storageBackend, TransactionTemplate transactionTemplate,
+                                  @Value("${file.gc-grace-hours:24}") long gracePeriodHours) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.imageAssetRepository = imageAssetRepository;
+        this.storageBackend = storageBackend;
+        this.transactionTemplate = transactionTemplate;
+        this.gracePeriod = Duration.ofHours(gracePeriodHours);
+    }
+
+    @Scheduled(cron = "${file.gc-cron:0 30 3 * * *}")
+    public int collectGarbage() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        // Read before the references: an event saved in between is then either among the
+        // references or has changed the reference count collect() compares against.
+        List<StoredFile> storedFiles = storedFileRepository.findAll();
+
+        // Archived events still show their image in ticket history, so they keep it alive too.
+        Map<String, Integer> references = new HashMap<>();
+        List<String> imageUrls = new ArrayList<>(eventRepository.findAllImageUrls());
+        imageUrls.addAll(archivedEventRepository.findAllImageUrls());
+        for (String imageUrl : imageUrls) {
+            String storedPath = FileStorageService.toStoredPath(imageUrl);
+            if (storedPath != null) {
+                references.merge(storedPath, 1, Integer::sum);
+            }
+        }
+
+        int deleted = 0;
+        for (StoredFile storedFile : storedFiles) {
+            int actual = references.getOrDefault(storedFile.getPath(), 0);
+            if (actual == 0 && uploadedBefore(storedFile, cutoff)) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> collect(storedFile, cutoff)))) {
+                    deleted++;
+                }
+            } else if (storedFile.getRefCount() != actual) {
+                logger.debug("Correcting reference count of {} from {} to {}", storedFile.getPath(), storedFile.getRefCount(), actual);
+                storedFileRepository.correctRefCount(storedFile.getId(), storedFile.getRefCount(), actual);
+            }
+        }
+
+        // Whatever still has a StoredFile row is kept, with its derivatives; the rest of the
+        // store is swept once it is older than the grace period.
+        Set<String> live = new HashSet<>();
+        storedFileRepository.findAll().forEach(storedFile -> live.add(storedFile.getPath()));
+        for (ImageAsset asset : imageAssetRepository.findAll()) {
+            if (live.contains(asset.getOriginalPath())) {
+                live.add(asset.getThumbnailPath());
+                live.add(asset.getCardPath());
+                live.add(asset.getHeroPath());
+            } else if (asset.getCreatedAt() == null || asset.getCreatedAt().isBefore(cutoff)) {
+                imageAssetRepository.delete(asset);
+            }
+        }
+
+        List<StorageBackend.StoredObject> objects;
+        try {
+            objects = storageBackend.list();
+        } catch (IOException e) {
+            logger.error("Could not list stored uploads", e);
+            return deleted;
+        }
+        for (StorageBackend.StoredObject object : objects) {
+            String storedPath = FileStorageService.UPLOADS_PREFIX + object.key();
+            if (live.contains(storedPath) || !object.lastModified().isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                storageBackend.delete(object.key());
+                deleted++;
+            } catch (IOException e) {
+                logger.warn("Could not delete unreferenced upload {}", object.key(), e);
+            }
+        }
+
+        logger.info("Upload garbage collection removed {} unreferenced files", deleted);
+        return deleted;
+    }
+
+    // Deletes the file while its row is locked, so an upload deduplicating to it waits and then
+    // finds the row gone. Its reference count may be off (the mark corrects only the files it
+    // keeps), but any change since the mark means an event took the file. Package-private for tests.
+    boolean collect(StoredFile marked, Instant cutoff) {
+        StoredFile storedFile = storedFileRepository.findLockedById(marked.getId()).orElse(null);
+        if (storedFile == null || storedFile.getRefCount() != marked.getRefCount() || !uploadedBefore(storedFile, cutoff)) {
+            return false;
+        }
+        try {
+            storageBackend.delete(FileStorageService.toKey(storedFile.getPath()));
+        } catch (IOException e) {
+            logger.warn("Could not delete unreferenced upload {}", storedFile.getPath(), e);
+            return false;
+        }
+        storedFileRepository.delete(storedFile);
+        return true;
+    }
+
+    private static boolean uploadedBefore(StoredFile storedFile, Instant cutoff) {
+        return storedFile.getLastUploadedAt() == null || storedFile.getLastUploadedAt().isBefore(cutoff);
+    }
+}
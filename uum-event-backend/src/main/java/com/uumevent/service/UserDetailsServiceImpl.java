@@ -9,31 +9,41 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
-import java.util.List;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    // Loaded on every authenticated request by JwtAuthenticationFilter. A fresh UserDetails is built
+    // from the cached account each time, because authentication erases the password on the one it
+    // is given.
+    private final CoherentCache<Account> accountCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, CacheCoherenceService cacheCoherenceService) {
         this.userRepository = userRepository;
+        this.accountCache = cacheCoherenceService.register(CacheCoherenceService.USERS);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        com.uumevent.entity.User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        Account account = accountCache.get(email, () -> {
+            com.uumevent.entity.User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            return new Account(user.getEmail(), user.getPassword(), user.getRole());
+        });
 
         // **THE FIX IS HERE:**
         // This correctly creates a "ROLE_" prefix, which Spring Security expects,
         // and assigns it as an authority to the logged-in user.
-        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase());
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + account.role().toUpperCase());
 
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
+                account.email(),
+                account.password(),
                 Collections.singletonList(authority)
         );
     }
+
+    private record Account(String email, String password, String role) {
+    }
 }
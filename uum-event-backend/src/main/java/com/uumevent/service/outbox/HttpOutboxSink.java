@@ -0,0 +1,58 @@
+package com.uumevent.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.uumevent.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// POSTs each batch as one JSON array of envelopes to a webhook; any non-2xx answer fails the batch.
+public class HttpOutboxSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public HttpOutboxSink(URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException, InterruptedException {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (OutboxEvent event : events) {
+            ObjectNode envelope = body.addObject();
+            envelope.put("id", event.getId());
+            envelope.put("type", event.getEventType());
+            envelope.put("aggregateType", event.getAggregateType());
+            envelope.put("aggregateId", event.getAggregateId());
+            envelope.put("createdAt", event.getCreatedAt().toString());
+            envelope.set("payload", objectMapper.readTree(event.getPayload()));
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox webhook " + url + " answered " + response.statusCode());
+        }
+    }
+}
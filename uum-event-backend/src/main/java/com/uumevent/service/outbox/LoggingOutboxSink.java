@@ -0,0 +1,25 @@
+package com.uumevent.service.outbox;
+
+import com.uumevent.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+// Stand-in for a real consumer in local runs: accepts everything and logs it at DEBUG.
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            logger.debug("Outbox event {} {} {}#{}: {}", event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.uumevent.service.outbox;
+
+import com.uumevent.entity.OutboxEvent;
+
+import java.util.List;
+
+// A downstream consumer of domain events (campus calendar, finance, notifications, ...). Every
+// sink bean receives every batch, with the events of a batch in id order. Batches are not ordered
+// among themselves: relays on several nodes deliver different batches at the same time, and a
+// failed batch is retried after later ones went out. Delivery is at least once: when any sink
+// throws, the whole batch stays in the outbox and is offered to all sinks again. Consumers must
+// de-duplicate by OutboxEvent.id and, where order matters, compare ids per aggregate.
+public interface OutboxSink {
+
+    String name();
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,131 @@
+package com.uumevent.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.PathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Stores each key under two levels of prefix directories ("ab/cd/abcd...jpg"). Keys are hashes or
+// UUIDs, so files spread evenly and no directory grows past a few thousand entries.
+public class LocalShardedStorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalShardedStorageBackend.class);
+
+    private final Path root;
+    private final int shardDepth;
+
+    public LocalShardedStorageBackend(Path root, int shardDepth) {
+        this.root = root.toAbsolutePath().normalize();
+        this.shardDepth = shardDepth;
+        try {
+            Files.createDirectories(this.root);
+            migrateFlatLayout();
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory for uploads. Please check file permissions. Path: " + this.root, ex);
+        }
+        logger.info("Local upload storage at {} with {} shard levels", this.root, shardDepth);
+    }
+
+    public Path resolve(String key) {
+        StorageBackend.requireValidKey(key);
+        Path dir = root;
+        for (int level = 0; level < shardDepth && key.length() >= (level + 1) * 2; level++) {
+            dir = dir.resolve(key.substring(level * 2, level * 2 + 2).toLowerCase());
+        }
+        return dir.resolve(key);
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path staging = Files.createTempFile(target.getParent(), ".staging-", ".tmp");
+        try {
+            Files.copy(source, staging, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Resource load(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? new PathResource(path) : null;
+    }
+
+    @Override
+    public Path localPath(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        List<StoredObject> objects = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(root, shardDepth + 1)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                String key = path.getFileName().toString();
+                if (path.equals(root) || !StorageBackend.VALID_KEY.matcher(key).matches()) {
+                    continue; // skips ".incoming" and ".staging-*" files
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && path.equals(resolve(key))) {
+                    objects.add(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                }
+            }
+        }
+        return objects;
+    }
+
+    // Uploads written before sharding sit directly in the root; move them to their shard once.
+    private void migrateFlatLayout() throws IOException {
+        if (shardDepth == 0) {
+            return;
+        }
+        List<Path> flatFiles;
+        try (Stream<Path> stream = Files.list(root)) {
+            flatFiles = stream.filter(Files::isRegularFile)
+                    .filter(p -> StorageBackend.VALID_KEY.matcher(p.getFileName().toString()).matches())
+                    .toList();
+        }
+        for (Path file : flatFiles) {
+            Path target = resolve(file.getFileName().toString());
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (!flatFiles.isEmpty()) {
+            logger.info("Moved {} uploads into the sharded layout", flatFiles.size());
+        }
+    }
+}
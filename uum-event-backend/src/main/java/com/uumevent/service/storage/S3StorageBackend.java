@@ -0,0 +1,132 @@
+package com.uumevent.service.storage;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Works with AWS S3 and with S3-compatible stores such as MinIO (see the "s3" profile in
+// docker-compose.yml), which is what local development and testing run against.
+public class S3StorageBackend implements StorageBackend, AutoCloseable {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3StorageBackend(S3Client s3, String bucket, String prefix) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) throws IOException {
+        try {
+            s3.putObject(b -> b.bucket(bucket).key(objectKey(key)).contentType(contentType), RequestBody.fromFile(source));
+        } catch (S3Exception e) {
+            throw new IOException("Could not upload " + key + " to bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return head(key) != null;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(b -> b.bucket(bucket).key(objectKey(key)));
+        } catch (S3Exception e) {
+            throw new IOException("Could not read " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        HeadObjectResponse head = head(key);
+        if (head == null) {
+            return null;
+        }
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return "s3://" + bucket + "/" + objectKey(key);
+            }
+
+            @Override
+            public String getFilename() {
+                return key;
+            }
+
+            @Override
+            public long contentLength() {
+                return head.contentLength();
+            }
+
+            @Override
+            public long lastModified() {
+                return head.lastModified().toEpochMilli();
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return open(key);
+            }
+        };
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(b -> b.bucket(bucket).key(objectKey(key)));
+        } catch (S3Exception e) {
+            throw new IOException("Could not delete " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    @Override
+    public List<StoredObject> list() throws IOException {
+        List<StoredObject> objects = new ArrayList<>();
+        try {
+            for (S3Object object : s3.listObjectsV2Paginator(b -> b.bucket(bucket).prefix(prefix)).contents()) {
+                objects.add(new StoredObject(object.key().substring(prefix.length()), object.size(), object.lastModified()));
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Could not list bucket " + bucket, e);
+        }
+        return objects;
+    }
+
+    @Override
+    public void close() {
+        s3.close();
+    }
+
+    private HeadObjectResponse head(String key) throws IOException {
+        try {
+            return s3.headObject(b -> b.bucket(bucket).key(objectKey(key)));
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("Could not read metadata of " + key + " from bucket " + bucket, e);
+        }
+    }
+
+    private String objectKey(String key) {
+        return prefix + StorageBackend.requireValidKey(key);
+    }
+}
@@ -0,0 +1,47 @@
+package com.uumevent.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Where uploaded files live. Keys are flat file names ("<sha256>.jpg", "<sha256>_card.jpg");
+// the public URL of a key is always "/uploads/<key>", whichever backend holds it.
+public interface StorageBackend {
+
+    Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    // Copies the file at source into the store. The caller remains responsible for source.
+    void store(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    // Returns null when the key does not exist.
+    Resource load(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // The file backing a key when it lives on the local filesystem, which lets it be served with
+    // sendfile; null for remote backends or unknown keys.
+    default Path localPath(String key) throws IOException {
+        return null;
+    }
+
+    List<StoredObject> list() throws IOException;
+
+    record StoredObject(String key, long size, Instant lastModified) {
+    }
+
+    static String requireValidKey(String key) {
+        if (key == null || !VALID_KEY.matcher(key).matches() || key.contains("..")) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return key;
+    }
+}
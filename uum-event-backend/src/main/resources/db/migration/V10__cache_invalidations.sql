@@ -0,0 +1,15 @@
+-- Cache invalidation log shared by all backend instances: a write appends the cache entries it
+-- changed in its own transaction, and every instance polls the table and evicts what the others
+-- appended (CacheCoherenceService). created_at comes from the database clock so all instances
+-- compare times from one clock; rows are purged after cache.coherence.retention-ms.
+
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    region varchar(32) not null,
+    entry_key varchar(255) not null,
+    origin varchar(36) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
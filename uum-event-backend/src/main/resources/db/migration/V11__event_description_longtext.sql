@@ -0,0 +1,5 @@
+-- Databases baselined at V1 kept the description column ddl-auto=update gave them, while V1 and V6
+-- create it as text. Both become longtext, which holds any existing value and is what the
+-- mapping (columnDefinition = "longtext") expects when spring.jpa.hibernate.ddl-auto=validate.
+alter table events modify description longtext;
+alter table archived_events modify description longtext;
@@ -0,0 +1,76 @@
+-- Schema of the last release that used spring.jpa.hibernate.ddl-auto=update, before Flyway took it
+-- over. Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip it; everything added since is in V2 onwards.
+
+create table users (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table tags (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id),
+    constraint uk_tags_name unique (name)
+) engine=InnoDB;
+
+create table events (
+    id bigint not null auto_increment,
+    title varchar(255),
+    short_description varchar(255),
+    description text,
+    date date,
+    time time(6),
+    location varchar(255),
+    venue varchar(255),
+    category varchar(255),
+    price decimal(38,2),
+    max_attendees integer,
+    current_attendees integer,
+    image_url varchar(255),
+    status varchar(255),
+    organizer_id bigint not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint fk_events_organizer foreign key (organizer_id) references users (id)
+) engine=InnoDB;
+
+create table event_tags (
+    event_id bigint not null,
+    tag_id bigint not null,
+    primary key (event_id, tag_id),
+    constraint fk_event_tags_event foreign key (event_id) references events (id),
+    constraint fk_event_tags_tag foreign key (tag_id) references tags (id)
+) engine=InnoDB;
+
+create table registrations (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    event_id bigint not null,
+    registration_date datetime(6),
+    status varchar(255),
+    primary key (id),
+    constraint uk_registrations_user_event unique (user_id, event_id),
+    constraint fk_registrations_user foreign key (user_id) references users (id),
+    constraint fk_registrations_event foreign key (event_id) references events (id)
+) engine=InnoDB;
+
+create table tickets (
+    id bigint not null auto_increment,
+    registration_id bigint not null,
+    qr_code varchar(255) not null,
+    ticket_type varchar(255),
+    price decimal(38,2),
+    purchase_date datetime(6),
+    status varchar(255),
+    primary key (id),
+    constraint uk_tickets_registration unique (registration_id),
+    constraint uk_tickets_qr_code unique (qr_code),
+    constraint fk_tickets_registration foreign key (registration_id) references registrations (id)
+) engine=InnoDB;
@@ -0,0 +1,51 @@
+-- Tables added after the baseline release: refresh tokens and revoked access token ids, the
+-- image pipeline's assets (referenced from events) and content-addressed uploads.
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    expires_at datetime(6) not null,
+    revoked bit not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table revoked_tokens (
+    token_id varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create table image_assets (
+    id bigint not null auto_increment,
+    original_path varchar(255) not null,
+    status varchar(255),
+    thumbnail_path varchar(255),
+    card_path varchar(255),
+    hero_path varchar(255),
+    width integer,
+    height integer,
+    created_at datetime(6),
+    primary key (id),
+    constraint uk_image_assets_original_path unique (original_path)
+) engine=InnoDB;
+
+alter table events add column image_asset_id bigint;
+alter table events add constraint fk_events_image_asset foreign key (image_asset_id) references image_assets (id);
+
+create table stored_files (
+    id bigint not null auto_increment,
+    content_hash varchar(64) not null,
+    path varchar(255) not null,
+    content_type varchar(255),
+    size bigint,
+    ref_count integer not null,
+    created_at datetime(6),
+    last_uploaded_at datetime(6),
+    primary key (id),
+    constraint uk_stored_files_content_hash unique (content_hash),
+    constraint uk_stored_files_path unique (path)
+) engine=InnoDB;
@@ -0,0 +1,27 @@
+-- One index per hot repository query; QueryPlanTest checks that each query below still uses
+-- its index (see src/test/resources/db/query-plans.properties).
+
+-- Catalog browsing by date and category.
+create index idx_events_date on events (date);
+create index idx_events_category on events (category);
+
+-- EventService relies on this constraint to reject duplicate events (same title, date and
+-- location) instead of querying for them first. Duplicates created before it existed keep their
+-- rows, registrations and tickets; all but the oldest get their id appended to the title.
+update events set title = concat(left(title, 230), ' (#', id, ')')
+where id in (select id from (
+    select distinct e.id
+    from events e
+    join events original on original.title = e.title and original.date = e.date
+        and original.location = e.location and original.id < e.id) duplicates);
+alter table events add constraint uk_events_title_date_location unique (title, date, location);
+
+-- EventRepository.findByOrganizer ("my organized events").
+create index idx_events_organizer on events (organizer_id);
+
+-- Registrations of one event (attendee lists, cascades on event delete).
+create index idx_registrations_event on registrations (event_id);
+
+-- Token housekeeping: RevokedTokenRepository.findActive/deleteExpired, RefreshTokenRepository.deleteExpired.
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
@@ -0,0 +1,41 @@
+-- Denormalized dashboard aggregates, maintained by EventStatsService in the same transaction as
+-- each event or registration change. Backfilled here from the existing rows.
+
+create table event_stats (
+    event_id bigint not null,
+    organizer_id bigint not null,
+    registrations integer not null,
+    capacity integer not null,
+    revenue decimal(38,2) not null,
+    updated_at datetime(6),
+    primary key (event_id),
+    constraint fk_event_stats_event foreign key (event_id) references events (id) on delete cascade,
+    constraint fk_event_stats_organizer foreign key (organizer_id) references users (id)
+) engine=InnoDB;
+
+create index idx_event_stats_organizer on event_stats (organizer_id);
+
+create table organizer_stats (
+    organizer_id bigint not null,
+    events integer not null,
+    registrations integer not null,
+    capacity integer not null,
+    revenue decimal(38,2) not null,
+    updated_at datetime(6),
+    primary key (organizer_id),
+    constraint fk_organizer_stats_organizer foreign key (organizer_id) references users (id)
+) engine=InnoDB;
+
+insert into event_stats (event_id, organizer_id, registrations, capacity, revenue, updated_at)
+select e.id,
+       e.organizer_id,
+       (select count(*) from registrations r where r.event_id = e.id),
+       coalesce(e.max_attendees, 0),
+       (select coalesce(sum(t.price), 0) from tickets t join registrations r on r.id = t.registration_id where r.event_id = e.id),
+       current_timestamp
+from events e;
+
+insert into organizer_stats (organizer_id, events, registrations, capacity, revenue, updated_at)
+select organizer_id, count(*), sum(registrations), sum(capacity), sum(revenue), current_timestamp
+from event_stats
+group by organizer_id;
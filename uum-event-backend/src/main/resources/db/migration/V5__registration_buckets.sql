@@ -0,0 +1,12 @@
+-- Checkpoints of the in-memory registration time series (RegistrationAnalyticsService).
+-- resolution is 'minute', 'hour' or 'day'; bucket_start is the UTC start of the bucket.
+
+create table registration_buckets (
+    event_id bigint not null,
+    resolution varchar(8) not null,
+    bucket_start datetime(6) not null,
+    registrations integer not null,
+    primary key (event_id, resolution, bucket_start)
+) engine=InnoDB;
+
+create index idx_registration_buckets_start on registration_buckets (bucket_start);
@@ -0,0 +1,58 @@
+-- Past events, their registrations and tickets are moved here by EventArchiveService. Rows keep
+-- their original ids; there are no foreign keys to the hot tables they were moved out of.
+
+create table archived_events (
+    id bigint not null,
+    title varchar(255),
+    short_description varchar(255),
+    description text,
+    date date,
+    time time(6),
+    location varchar(255),
+    venue varchar(255),
+    category varchar(255),
+    price decimal(38,2),
+    max_attendees integer,
+    current_attendees integer,
+    image_url varchar(255),
+    status varchar(255),
+    image_asset_id bigint,
+    organizer_id bigint not null,
+    created_at datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_archived_events_organizer on archived_events (organizer_id);
+
+create table archived_event_tags (
+    event_id bigint not null,
+    tag_id bigint not null,
+    primary key (event_id, tag_id),
+    constraint fk_archived_event_tags_event foreign key (event_id) references archived_events (id)
+) engine=InnoDB;
+
+create table archived_registrations (
+    id bigint not null,
+    user_id bigint not null,
+    event_id bigint not null,
+    registration_date datetime(6),
+    status varchar(255),
+    primary key (id),
+    constraint fk_archived_registrations_event foreign key (event_id) references archived_events (id)
+) engine=InnoDB;
+
+create index idx_archived_registrations_user on archived_registrations (user_id);
+
+create table archived_tickets (
+    id bigint not null,
+    registration_id bigint not null,
+    qr_code varchar(255) not null,
+    ticket_type varchar(255),
+    price decimal(38,2),
+    purchase_date datetime(6),
+    status varchar(255),
+    primary key (id),
+    constraint uk_archived_tickets_registration unique (registration_id),
+    constraint fk_archived_tickets_registration foreign key (registration_id) references archived_registrations (id)
+) engine=InnoDB;
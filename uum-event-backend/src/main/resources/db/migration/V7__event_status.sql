@@ -0,0 +1,6 @@
+-- Event status is maintained by EventLifecycleService (upcoming, ongoing, completed, sold-out)
+-- and used as a list filter; the index serves both the filter and the date-driven transitions.
+
+update events set status = 'upcoming' where status is null;
+
+create index idx_events_status_date on events (status, date);
@@ -0,0 +1,16 @@
+-- Transactional outbox: domain events written in the same transaction as the change they describe
+-- and deleted by OutboxRelay once every sink has accepted them. Rows are claimed oldest first
+-- (primary key order) with SELECT ... FOR UPDATE SKIP LOCKED, which stamps claimed_by/claimed_until
+-- and commits before delivery; a claim that outlives claimed_until is taken over by the next relay.
+
+create table outbox_events (
+    id bigint not null auto_increment,
+    aggregate_type varchar(32) not null,
+    aggregate_id bigint not null,
+    event_type varchar(64) not null,
+    payload text not null,
+    created_at datetime(6) not null,
+    claimed_by varchar(36),
+    claimed_until datetime(6),
+    primary key (id)
+) engine=InnoDB;
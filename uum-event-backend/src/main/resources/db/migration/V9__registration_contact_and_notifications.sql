@@ -0,0 +1,28 @@
+-- Contact details from the registration form, and the queue of outgoing mail that
+-- NotificationDispatcher delivers (pending -> sent, or failed after the last retry).
+
+alter table registrations add column attendee_name varchar(255);
+alter table registrations add column attendee_email varchar(255);
+alter table registrations add column attendee_phone varchar(50);
+alter table registrations add column special_requests varchar(1000);
+
+alter table archived_registrations add column attendee_name varchar(255);
+alter table archived_registrations add column attendee_email varchar(255);
+alter table archived_registrations add column attendee_phone varchar(50);
+alter table archived_registrations add column special_requests varchar(1000);
+
+create table notifications (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_notifications_status_next_attempt on notifications (status, next_attempt_at);
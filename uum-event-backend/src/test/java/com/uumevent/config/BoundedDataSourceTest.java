@@ -0,0 +1,82 @@
+package com.uumevent.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedDataSourceTest {
+
+    private final DataSource database = new DriverManagerDataSource("jdbc:h2:mem:bounded-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void waitsAtMostTheAcquireTimeoutForAPermit() throws Exception {
+        Semaphore permits = new Semaphore(1, true);
+        BoundedDataSource dataSource = new BoundedDataSource(database, permits, 50);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+            long start = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertTrue(System.nanoTime() - start >= 50_000_000L);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(0, permits.availablePermits());
+        }
+    }
+
+    // Once only, however often the connection is closed.
+    @Test
+    void releasesThePermitWhenTheConnectionIsClosed() throws Exception {
+        Semaphore permits = new Semaphore(2, true);
+        BoundedDataSource dataSource = new BoundedDataSource(database, permits, 50);
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, permits.availablePermits());
+        connection.close();
+        connection.close();
+        assertEquals(2, permits.availablePermits());
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    void releasesThePermitWhenNoConnectionIsHandedOut() {
+        Semaphore permits = new Semaphore(1, true);
+        SQLException refused = new SQLException("Connection refused");
+        BoundedDataSource dataSource = new BoundedDataSource(new DelegatingDataSource(database) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw refused;
+            }
+        }, permits, 50);
+
+        assertSame(refused, assertThrows(SQLException.class, dataSource::getConnection));
+        assertEquals(1, permits.availablePermits());
+    }
+
+    // Exceptions of the connection's own methods come through unwrapped and keep the permit.
+    @Test
+    void passesStatementFailuresThrough() throws Exception {
+        Semaphore permits = new Semaphore(1, true);
+        BoundedDataSource dataSource = new BoundedDataSource(database, permits, 50);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThrows(SQLException.class, () -> connection.createStatement().execute("select * from missing"));
+            assertFalse(connection.isClosed());
+            assertEquals(0, permits.availablePermits());
+        }
+        assertEquals(1, permits.availablePermits());
+    }
+}
@@ -0,0 +1,94 @@
+package com.uumevent.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void hashesAtMostAsManyPasswordsAtOnceAsItHasPermits() throws Exception {
+        SlowEncoder delegate = new SlowEncoder();
+        PasswordEncoder encoder = new BoundedPasswordEncoder(delegate, new Semaphore(2, true));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> encoder.matches("secret123", encoder.encode("secret123"))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2, delegate.mostAtOnce.get());
+    }
+
+    @Test
+    void releasesThePermitWhenHashingFails() {
+        Semaphore permits = new Semaphore(1, true);
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new SlowEncoder(), permits);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+        assertThrows(IllegalArgumentException.class, () -> encoder.matches(null, "secret123"));
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void givesUpWhenInterruptedWhileWaiting() {
+        Semaphore permits = new Semaphore(0, true);
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new SlowEncoder(), permits);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(IllegalStateException.class, () -> encoder.encode("secret123"));
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(0, permits.availablePermits());
+    }
+
+    // Takes a while per hash and records how many hashes ran at the same time.
+    private static final class SlowEncoder implements PasswordEncoder {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger mostAtOnce = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return hash(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return hash(rawPassword).equals(encodedPassword);
+        }
+
+        private String hash(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            mostAtOnce.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return "{slow}" + rawPassword;
+        }
+    }
+}
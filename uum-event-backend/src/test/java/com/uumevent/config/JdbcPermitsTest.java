@@ -0,0 +1,82 @@
+package com.uumevent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// VirtualThreadConfig itself needs Java 21; its post-processor and ReadReplicaConfig are driven
+// with the permits it would provide.
+class JdbcPermitsTest {
+
+    private final VirtualThreadConfig.Permits permits = new VirtualThreadConfig.Permits(new JdbcPermits(1000), new Semaphore(1, true));
+
+    @Test
+    void boundsBootsPoolButNotARoutingDataSource() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("virtualThreadPermits", permits);
+        BeanPostProcessor postProcessor = VirtualThreadConfig.virtualThreadLimitsPostProcessor(beanFactory.getBeanProvider(VirtualThreadConfig.Permits.class));
+        HikariDataSource pool = pool("HikariPool-1", 7);
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(pool);
+
+        assertInstanceOf(BoundedDataSource.class, postProcessor.postProcessAfterInitialization(pool, "dataSource"));
+        assertSame(routing, postProcessor.postProcessAfterInitialization(routing, "dataSource"));
+        assertEquals(Map.of("HikariPool-1", 7), sizes());
+    }
+
+    // One semaphore per pool, each the size of its pool; the dataSource bean routing between them
+    // takes no permits of its own.
+    @Test
+    void boundsThePrimaryAndTheReplicaSeparately() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReadReplicaConfig.class)
+                .withBean(VirtualThreadConfig.Permits.class, () -> permits)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:primary-" + UUID.randomUUID(),
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "datasource.replica.urls=jdbc:h2:mem:replica-" + UUID.randomUUID())
+                .run(context -> {
+                    assertInstanceOf(BoundedDataSource.class, context.getBean(ReadWriteRoutingDataSource.class).primary());
+                    assertEquals(Map.of("primary", 7, "replica-0", 7), sizes());
+                });
+    }
+
+    @Test
+    void boundsEachPoolOnce() {
+        JdbcPermits jdbcPermits = permits.jdbc();
+        jdbcPermits.bound("primary", pool("primary", 5));
+
+        assertThrows(IllegalStateException.class, () -> jdbcPermits.bound("primary", pool("primary", 5)));
+        assertEquals(Set.of("primary"), jdbcPermits.pools().keySet());
+    }
+
+    private Map<String, Integer> sizes() {
+        return permits.jdbc().pools().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().availablePermits()));
+    }
+
+    private static HikariDataSource pool(String name, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        return pool;
+    }
+}
@@ -0,0 +1,126 @@
+package com.uumevent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two H2 databases stand in for the primary and a replica; each has a one-row table naming it.
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        routing = routing(database("primary"), database("replica"));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+        assertEquals("primary", readWrite.execute(status -> whoami()));
+    }
+
+    @Test
+    void userReadsStayOnThePrimaryAfterTheirWrite() {
+        authenticate("writer@uum.edu.my");
+        readWrite.executeWithoutResult(status -> jdbc.update("update whoami set name = name"));
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        authenticate("reader@uum.edu.my");
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void primaryReadsSkipTheReplicaWithoutPinning() {
+        readOnly.setName(ReadWriteRoutingDataSource.PRIMARY_READ);
+        authenticate("reader@uum.edu.my");
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        readOnly.setName(null);
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDown() {
+        DriverManagerDataSource down = new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        routing(database("primary"), down);
+
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void primaryPoolHonoursHikariProperties() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReadReplicaConfig.class)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:primary-" + UUID.randomUUID(),
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "spring.datasource.hikari.connection-timeout=1500",
+                        "datasource.replica.urls=jdbc:h2:mem:replica-" + UUID.randomUUID())
+                .run(context -> {
+                    HikariDataSource primary = (HikariDataSource) context.getBean(ReadWriteRoutingDataSource.class).primary();
+                    assertEquals(7, primary.getMaximumPoolSize());
+                    assertEquals(1500, primary.getConnectionTimeout());
+                    assertEquals("primary", primary.getPoolName());
+                });
+    }
+
+    private ReadWriteRoutingDataSource routing(DataSource primary, DataSource replica) {
+        routing = new ReadWriteRoutingDataSource(primary, List.of(new ReadWriteRoutingDataSource.Replica("replica-0", replica)),
+                Duration.ofSeconds(30), Duration.ofSeconds(5));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return routing;
+    }
+
+    private String whoami() {
+        return jdbc.queryForObject("select name from whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table whoami (name varchar(16))");
+        jdbc.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+    }
+}
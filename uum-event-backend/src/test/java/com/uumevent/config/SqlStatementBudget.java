@@ -0,0 +1,26 @@
+package com.uumevent.config;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Holds one call to a budget of JDBC statements, counted by SqlAccountingDataSource on the calling
+// thread, e.g.
+//   List<EventDto> events = SqlStatementBudget.atMost(1, () -> eventService.getAllEvents());
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static <T> T atMost(int budget, Supplier<T> work) {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            T result = work.get();
+            assertTrue(statistics.getStatements() <= budget,
+                    () -> statistics.getStatements() + " SQL statements executed, budget is " + budget);
+            return result;
+        } finally {
+            SqlStatistics.end();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.uumevent.controller;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.LoginRequest;
+import com.uumevent.dto.RegistrationRequestDto;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.service.AuthService;
+import com.uumevent.service.EventService;
+import com.uumevent.service.RegistrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    private String organizerEmail;
+    private String organizerToken;
+
+    @BeforeEach
+    void registerOrganizer() {
+        organizerEmail = signUp("organizer");
+        organizerToken = token(organizerEmail);
+    }
+
+    // The body is written on an ASYNC dispatch, which must not be re-authorized without a context.
+    @Test
+    void exportStreamsAttendeesToTheOrganizer() throws Exception {
+        Long eventId = createEvent();
+        String studentEmail = signUp("student");
+        RegistrationRequestDto contact = new RegistrationRequestDto();
+        contact.setName("Aisyah, Binti Ahmad");
+        contact.setEmail(studentEmail);
+        registrationService.registerUserForEvent(eventId, studentEmail, contact);
+
+        MvcResult started = mockMvc.perform(get("/api/events/" + eventId + "/attendees/export").param("format", "csv")
+                        .header("Authorization", "Bearer " + organizerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("registrationId,name,email,phone,specialRequests,status,registeredAt,ticketCode,ticketType,price\r\n")))
+                .andExpect(content().string(containsString(",\"Aisyah, Binti Ahmad\"," + studentEmail + ",")));
+    }
+
+    @Test
+    void exportOfAMissingEventIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/events/" + Long.MAX_VALUE + "/attendees/export")
+                        .header("Authorization", "Bearer " + organizerToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportIsForbiddenToOtherOrganizers() throws Exception {
+        Long eventId = createEvent();
+
+        mockMvc.perform(get("/api/events/" + eventId + "/attendees/export")
+                        .header("Authorization", "Bearer " + token(signUp("organizer"))))
+                .andExpect(status().isForbidden());
+    }
+
+    private Long createEvent() {
+        EventDto event = new EventDto();
+        event.setTitle("Career fair " + UUID.randomUUID());
+        event.setDate(LocalDate.now().plusDays(30));
+        event.setLocation("Sintok");
+        event.setPrice(new BigDecimal("10.00"));
+        event.setMaxAttendees(100);
+        return eventService.createEvent(event, organizerEmail).getId();
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+
+    private String token(String email) {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("secret123");
+        return authService.login(login).getToken();
+    }
+}
@@ -0,0 +1,113 @@
+package com.uumevent.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.LoginRequest;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.service.AuthService;
+import com.uumevent.service.EventService;
+import com.uumevent.service.RegistrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TicketControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    private String studentToken;
+    private Long ticketId;
+
+    @BeforeEach
+    void registerStudent() {
+        String organizerEmail = signUp("organizer");
+        EventDto event = new EventDto();
+        event.setTitle("Career fair " + UUID.randomUUID());
+        event.setDate(LocalDate.now().plusDays(30));
+        event.setLocation("Sintok");
+        event.setPrice(new BigDecimal("10.00"));
+        event.setMaxAttendees(100);
+        Long eventId = eventService.createEvent(event, organizerEmail).getId();
+
+        String studentEmail = signUp("student");
+        studentToken = token(studentEmail);
+        ticketId = registrationService.registerUserForEvent(eventId, studentEmail, null).getId();
+    }
+
+    // As the browser loads them: <img src> and a new tab, without the Bearer header.
+    @Test
+    void signedLinksWorkWithoutAToken() throws Exception {
+        String tickets = mockMvc.perform(get("/api/my-tickets").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String qrImageUrl = JsonPath.read(tickets, "$[0].qrImageUrl");
+        String pdfUrl = JsonPath.read(tickets, "$[0].pdfUrl");
+
+        mockMvc.perform(get(qrImageUrl))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG));
+        mockMvc.perform(get(pdfUrl))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+
+        mockMvc.perform(get(pdfUrl.replace("/" + ticketId + "/", "/" + (ticketId + 1) + "/")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(pdfUrl.replaceFirst("signature=.", "signature=x")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unsignedLinksNeedTheOwnersToken() throws Exception {
+        String pdfUrl = "/api/tickets/" + ticketId + "/ticket.pdf";
+
+        mockMvc.perform(get(pdfUrl))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(pdfUrl).header("Authorization", "Bearer " + token(signUp("student"))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(pdfUrl).header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk());
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+
+    private String token(String email) {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("secret123");
+        return authService.login(login).getToken();
+    }
+}
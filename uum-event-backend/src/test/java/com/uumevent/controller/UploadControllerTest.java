@@ -0,0 +1,91 @@
+package com.uumevent.controller;
+
+import com.uumevent.entity.ImageAsset;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.service.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadControllerTest {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private ImageAssetRepository imageAssetRepository;
+
+    private String name;
+
+    @BeforeEach
+    void storeOriginal() throws IOException {
+        name = UUID.randomUUID().toString();
+        store(name + ".png", "original");
+    }
+
+    @Test
+    void originalIsImmutable() throws Exception {
+        mockMvc.perform(get("/uploads/" + name + ".png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+                .andExpect(content().string("original"));
+    }
+
+    @Test
+    void originalServedForAMissingVariantMustBeRevalidated() throws Exception {
+        mockMvc.perform(get("/uploads/" + name + ".png").param("variant", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, no-cache"))
+                .andExpect(content().string("original"));
+        mockMvc.perform(get("/uploads/" + name + ".png").header(HttpHeaders.ACCEPT, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, no-cache"));
+    }
+
+    @Test
+    void readyVariantIsImmutable() throws Exception {
+        store(name + "_thumbnail.jpg", "thumbnail");
+        ImageAsset asset = new ImageAsset();
+        asset.setOriginalPath("/uploads/" + name + ".png");
+        asset.setThumbnailPath("/uploads/" + name + "_thumbnail.jpg");
+        asset.setStatus("ready");
+        imageAssetRepository.save(asset);
+
+        mockMvc.perform(get("/uploads/" + name + ".png").param("variant", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+                .andExpect(content().string("thumbnail"));
+    }
+
+    private void store(String key, String content) throws IOException {
+        Path file = Files.createTempFile("upload-test-", ".tmp");
+        try {
+            Files.writeString(file, content);
+            storageBackend.store(key, file, "application/octet-stream");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
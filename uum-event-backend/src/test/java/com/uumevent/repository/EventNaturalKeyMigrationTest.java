@@ -0,0 +1,39 @@
+package com.uumevent.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Databases from before uk_events_title_date_location may hold duplicate events; V3 has to keep
+// them (they can have registrations) and still add the constraint.
+class EventNaturalKeyMigrationTest {
+
+    @Test
+    void duplicateEventsAreRenamedBeforeTheConstraintIsAdded() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:natural-key-migration;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource, "2").migrate();
+        jdbcTemplate.update("insert into users (id, name, email, password, role, created_at) "
+                + "values (1, 'Organizer', 'organizer@uum.edu.my', 'x', 'organizer', current_timestamp)");
+        String insertEvent = "insert into events (id, title, date, location, organizer_id) values (?, ?, '2026-03-01', ?, 1)";
+        jdbcTemplate.update(insertEvent, 10, "Orientation", "Sintok");
+        jdbcTemplate.update(insertEvent, 11, "Orientation", "Sintok");
+        jdbcTemplate.update(insertEvent, 12, "Orientation", "Sintok");
+        jdbcTemplate.update(insertEvent, 13, "Orientation", "Dewan Muadzam Shah");
+
+        flyway(dataSource, "latest").migrate();
+
+        List<String> titles = jdbcTemplate.queryForList("select title from events order by id", String.class);
+        assertEquals(List.of("Orientation", "Orientation (#11)", "Orientation (#12)", "Orientation"), titles);
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure().dataSource(dataSource).target(target).load();
+    }
+}
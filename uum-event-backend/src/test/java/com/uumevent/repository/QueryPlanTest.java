@@ -0,0 +1,81 @@
+package com.uumevent.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs EXPLAIN for every hot query in db/query-plans.properties against the migrated schema and
+// fails when a plan no longer uses the index listed for it, so dropping or renaming an index (or a
+// query change the optimizer cannot serve from it) fails the build. MySQL plans are read from the
+// "key" column (or "possible_keys" on an empty table, where the optimizer may skip the lookup
+// entirely); other databases (H2) print the index in the plan text.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final String BASELINE = "db/query-plans.properties";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> baseline() throws IOException {
+        Properties baseline = PropertiesLoaderUtils.loadProperties(new ClassPathResource(BASELINE));
+        return new TreeSet<>(baseline.stringPropertyNames()).stream().map(name -> {
+            String[] entry = baseline.getProperty(name).split("\\|", 2);
+            return Arguments.of(name, List.of(entry[0].trim().toLowerCase(Locale.ROOT).split("\\s*,\\s*")), entry[1].trim());
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("baseline")
+    void planUsesIndex(String name, List<String> expectedIndexes, String sql) {
+        String plan = jdbcTemplate.query("EXPLAIN " + sql, QueryPlanTest::usedIndexes);
+        assertTrue(plan != null && expectedIndexes.stream().anyMatch(plan::contains),
+                () -> name + " expected " + expectedIndexes + " but the plan was: " + plan);
+    }
+
+    private static String usedIndexes(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int keyColumn = 0;
+        int possibleKeysColumn = 0;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            if (label.equalsIgnoreCase("key")) {
+                keyColumn = i;
+            } else if (label.equalsIgnoreCase("possible_keys")) {
+                possibleKeysColumn = i;
+            }
+        }
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next()) {
+            if (keyColumn == 0) {
+                plan.append(resultSet.getString(1)).append(' ');
+            } else if (resultSet.getString(keyColumn) != null) {
+                plan.append(resultSet.getString(keyColumn)).append(' ');
+            } else if (possibleKeysColumn != 0 && resultSet.getString(possibleKeysColumn) != null) {
+                plan.append(resultSet.getString(possibleKeysColumn)).append(' ');
+            }
+        }
+        return plan.toString().trim().toLowerCase(Locale.ROOT);
+    }
+}
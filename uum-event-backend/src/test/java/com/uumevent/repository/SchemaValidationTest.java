@@ -0,0 +1,34 @@
+package com.uumevent.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The test context starts the way production does: Flyway migrates, then Hibernate validates the
+// entity mappings against the result (spring.jpa.hibernate.ddl-auto=validate) and fails startup
+// on any difference. This keeps that check switched on.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SchemaValidationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void mappingsAreValidatedAgainstTheMigratedSchema() {
+        assertEquals("validate", entityManagerFactory.getProperties().get("hibernate.hbm2ddl.auto"));
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(MigrationState.SUCCESS, flyway.info().current().getState());
+    }
+}
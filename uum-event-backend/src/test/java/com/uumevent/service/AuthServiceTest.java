@@ -0,0 +1,137 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.JwtAuthenticationResponse;
+import com.uumevent.dto.LoginRequest;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private LoginRequest login;
+
+    @BeforeEach
+    void registerUser() {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName("Student");
+        signUp.setEmail("student-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole("student");
+        authService.register(signUp);
+        login = new LoginRequest();
+        login.setEmail(signUp.getEmail());
+        login.setPassword(signUp.getPassword());
+    }
+
+    @Test
+    void refreshTokenIsStoredOnlyAsItsHash() throws Exception {
+        String refreshToken = authService.login(login).getRefreshToken();
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(refreshTokenRepository.findByTokenHash(hash).isPresent());
+        assertTrue(refreshTokenRepository.findByTokenHash(refreshToken).isEmpty());
+    }
+
+    @Test
+    void refreshRotatesTheRefreshToken() {
+        JwtAuthenticationResponse first = authService.login(login);
+
+        JwtAuthenticationResponse second = authService.refresh(first.getRefreshToken());
+
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertEquals(login.getEmail(), jwtService.extractUsername(second.getToken()));
+        // Single use: the presented token is revoked, its replacement works.
+        assertThrows(IllegalArgumentException.class, () -> authService.refresh(first.getRefreshToken()));
+        authService.refresh(second.getRefreshToken());
+    }
+
+    // Both requests present the same token before either has committed; only one may get a new pair.
+    @Test
+    void concurrentRefreshesWithOneTokenSucceedOnce() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            String refreshToken = authService.login(login).getRefreshToken();
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<JwtAuthenticationResponse>> refreshes = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    refreshes.add(executor.submit(() -> {
+                        start.await();
+                        return authService.refresh(refreshToken);
+                    }));
+                }
+                start.countDown();
+                int succeeded = 0;
+                for (Future<JwtAuthenticationResponse> refresh : refreshes) {
+                    try {
+                        refresh.get();
+                        succeeded++;
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                    }
+                }
+                assertEquals(1, succeeded);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void logoutRevokesBothTokens() throws Exception {
+        JwtAuthenticationResponse tokens = authService.login(login);
+        mockMvc.perform(get("/api/my-tickets").header("Authorization", "Bearer " + tokens.getToken()))
+                .andExpect(status().isOk());
+
+        authService.logout(tokens.getToken(), tokens.getRefreshToken());
+
+        assertTrue(tokenRevocationService.isRevoked(jwtService.extractTokenId(tokens.getToken())));
+        assertThrows(IllegalArgumentException.class, () -> authService.refresh(tokens.getRefreshToken()));
+        mockMvc.perform(get("/api/my-tickets").header("Authorization", "Bearer " + tokens.getToken()))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,61 @@
+package com.uumevent.service;
+
+import com.uumevent.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheCoherenceServiceTest {
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The name routes the load to the primary even inside a caller's read-only transaction.
+    @Test
+    void loadsRunInTheirOwnReadOnlyTransactionOnThePrimary() {
+        CoherentCache<String> cache = cacheCoherenceService.register("test-loads");
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+        caller.setReadOnly(true);
+
+        String name = caller.execute(status -> cache.get("key", () -> {
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return TransactionSynchronizationManager.getCurrentTransactionName();
+        }));
+        List<String> names = cache.getAll(List.of("other"),
+                missing -> Map.of("other", TransactionSynchronizationManager.getCurrentTransactionName()));
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY_READ, name);
+        assertEquals(List.of(ReadWriteRoutingDataSource.PRIMARY_READ), names);
+    }
+
+    @Test
+    void invalidationOnCommitEvictsTheEntry() {
+        CoherentCache<Integer> cache = cacheCoherenceService.register("test-invalidation");
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", loads::incrementAndGet);
+        assertEquals(1, cache.get("key", loads::incrementAndGet));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                cacheCoherenceService.invalidate("test-invalidation", "key"));
+
+        assertEquals(2, cache.get("key", loads::incrementAndGet));
+    }
+}
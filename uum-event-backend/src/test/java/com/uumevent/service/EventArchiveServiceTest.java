@@ -0,0 +1,144 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.dto.TicketDto;
+import com.uumevent.repository.ArchivedEventRepository;
+import com.uumevent.repository.ArchivedTicketRepository;
+import com.uumevent.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Archive runs with batches of two events, on events dated a year ago (the rest of the tests only
+// create upcoming events, which stay where they are).
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventArchiveServiceTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheCoherenceService cacheCoherenceService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void archivesPastEventsWithTheirTicketsInBatches() {
+        String organizerEmail = signUp("organizer");
+        String studentEmail = signUp("student");
+        List<Long> past = pastEvents(organizerEmail, 3);
+        Long upcoming = eventService.createEvent(EventServiceTest.event("Career fair"), organizerEmail).getId();
+        TicketDto archived = registrationService.registerUserForEvent(past.get(0), studentEmail, null);
+        TicketDto live = registrationService.registerUserForEvent(upcoming, studentEmail, null);
+        assertEquals(2, registrationService.getTicketsForUser(studentEmail).size());
+
+        assertEquals(3, archiver().archivePastEvents());
+
+        for (Long id : past) {
+            assertFalse(eventRepository.existsById(id));
+            assertTrue(archivedEventRepository.existsById(id));
+        }
+        assertTrue(eventRepository.existsById(upcoming));
+        assertTrue(archivedTicketRepository.existsById(archived.getId()));
+        // The cached list was dropped; the new one appends the archived ticket.
+        List<TicketDto> tickets = registrationService.getTicketsForUser(studentEmail);
+        assertEquals(List.of(live.getId(), archived.getId()), tickets.stream().map(TicketDto::getId).toList());
+        assertEquals(archived.getQrCode(), tickets.get(1).getQrCode());
+        assertEquals(archived.getEventTitle(), tickets.get(1).getEventTitle());
+        assertEquals(archived.getQrCode(), registrationService.findTicket(archived.getId()).orElseThrow().getQrCode());
+    }
+
+    // Events another run holds (an instance archiving at the same time, or a batch still in
+    // flight) are skipped, and archived by the next run once released. The other run's claim is
+    // a lock on one event: H2 locks every row a FOR UPDATE ... LIMIT query matches.
+    @Test
+    void skipsEventsClaimedByAnotherRunAndResumesWithThem() throws Exception {
+        List<Long> past = pastEvents(signUp("organizer"), 3);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> otherRun = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM events WHERE id = ? FOR UPDATE", Long.class, past.get(0));
+            claimed.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+        try {
+            assertTrue(claimed.await(10, TimeUnit.SECONDS));
+            assertEquals(2, archiver().archivePastEvents());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(List.of(past.get(0)), otherRun.get(10, TimeUnit.SECONDS));
+        assertTrue(eventRepository.existsById(past.get(0)));
+
+        assertEquals(1, archiver().archivePastEvents());
+        assertTrue(archivedEventRepository.existsById(past.get(0)));
+        assertEquals(0, archiver().archivePastEvents());
+    }
+
+    private EventArchiveService archiver() {
+        return new EventArchiveService(eventRepository, archivedEventRepository, transactionTemplate, cacheCoherenceService, 30, 2, 0, 1);
+    }
+
+    private List<Long> pastEvents(String organizerEmail, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EventDto event = EventServiceTest.event("Orientation");
+            event.setDate(LocalDate.now().minusYears(1).plusDays(i));
+            ids.add(eventService.createEvent(event, organizerEmail).getId());
+        }
+        return ids;
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+}
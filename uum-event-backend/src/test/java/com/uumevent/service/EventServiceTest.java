@@ -0,0 +1,99 @@
+package com.uumevent.service;
+
+import com.uumevent.config.SqlStatementBudget;
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SignUpRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventServiceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AuthService authService;
+
+    private String organizerEmail;
+
+    @BeforeEach
+    void registerOrganizer() {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName("Organizer");
+        signUp.setEmail("organizer-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole("organizer");
+        authService.register(signUp);
+        organizerEmail = signUp.getEmail();
+    }
+
+    @Test
+    void cachedListingsQueryOnlyIds() {
+        EventDto first = eventService.createEvent(event("Career fair"), organizerEmail);
+        EventDto second = eventService.createEvent(event("Hackathon"), organizerEmail);
+        eventService.getAllEvents();
+
+        List<EventDto> organized = SqlStatementBudget.atMost(2, () -> eventService.getEventsByOrganizer(organizerEmail));
+        List<EventDto> all = SqlStatementBudget.atMost(1, () -> eventService.getAllEvents());
+
+        assertEquals(List.of(first.getId(), second.getId()), organized.stream().map(EventDto::getId).toList());
+        assertTrue(all.stream().map(EventDto::getId).toList().containsAll(List.of(first.getId(), second.getId())));
+    }
+
+    // Organizer, tags and image asset come with the events rather than one query per event.
+    @Test
+    void cacheMissLoadsEventsInOneQuery() {
+        for (String title : List.of("Career fair", "Hackathon", "Open day")) {
+            eventService.createEvent(event(title), organizerEmail);
+        }
+
+        List<EventDto> organized = SqlStatementBudget.atMost(3, () -> eventService.getEventsByOrganizer(organizerEmail));
+
+        assertEquals(3, organized.size());
+        organized.forEach(event -> {
+            assertEquals(organizerEmail, event.getOrganizer().getEmail());
+            assertEquals(Set.of("careers", "networking"), Set.copyOf(event.getTags()));
+        });
+    }
+
+    @Test
+    void updateReplacesTheCachedEvent() {
+        EventDto created = eventService.createEvent(event("Career fair"), organizerEmail);
+        assertEquals(100, eventService.getEventsByOrganizer(organizerEmail).get(0).getMaxAttendees());
+
+        created.setMaxAttendees(150);
+        eventService.updateEvent(created.getId(), created, organizerEmail);
+
+        assertEquals(150, eventService.getEventsByOrganizer(organizerEmail).get(0).getMaxAttendees());
+    }
+
+    static EventDto event(String title) {
+        EventDto event = new EventDto();
+        event.setTitle(title + " " + UUID.randomUUID());
+        event.setDescription("Open to all students");
+        event.setDate(LocalDate.now().plusDays(30));
+        event.setLocation("Sintok");
+        event.setVenue("Dewan Muadzam Shah");
+        event.setCategory("career");
+        event.setPrice(new BigDecimal("10.00"));
+        event.setMaxAttendees(100);
+        event.setTags(List.of("careers", "networking"));
+        return event;
+    }
+}
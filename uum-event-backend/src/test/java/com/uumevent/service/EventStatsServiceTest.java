@@ -0,0 +1,101 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.OrganizerStatsDto;
+import com.uumevent.dto.SignUpRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventStatsServiceTest {
+
+    @Autowired
+    private EventStatsService eventStatsService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private AuthService authService;
+
+    private String organizerEmail;
+
+    @BeforeEach
+    void registerOrganizer() {
+        organizerEmail = signUp("organizer");
+    }
+
+    // Each creation is the organizer's "first" when none has committed yet; they must all count.
+    @Test
+    void concurrentFirstEventsOfAnOrganizerAllCount() throws Exception {
+        int events = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(events);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<EventDto>> created = new ArrayList<>();
+            for (int i = 0; i < events; i++) {
+                created.add(executor.submit(() -> {
+                    start.await();
+                    EventDto event = EventServiceTest.event("Club fair");
+                    event.setTags(null);
+                    return eventService.createEvent(event, organizerEmail);
+                }));
+            }
+            start.countDown();
+            for (Future<EventDto> event : created) {
+                event.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        OrganizerStatsDto stats = eventStatsService.getOrganizerStats(organizerEmail);
+        assertEquals(events, stats.getEvents());
+        assertEquals(events * 100, stats.getCapacity());
+        assertEquals(events, stats.getEventStats().size());
+    }
+
+    @Test
+    void registrationsAddToEventAndOrganizerTotals() {
+        EventDto event = eventService.createEvent(EventServiceTest.event("Workshop"), organizerEmail);
+        registrationService.registerUserForEvent(event.getId(), signUp("student"), null);
+        registrationService.registerUserForEvent(event.getId(), signUp("student"), null);
+
+        OrganizerStatsDto stats = eventStatsService.getOrganizerStats(organizerEmail);
+        assertEquals(1, stats.getEvents());
+        assertEquals(2, stats.getRegistrations());
+        assertEquals(0, new BigDecimal("20.00").compareTo(stats.getRevenue()));
+        assertEquals(0.02, stats.getFillRate());
+        assertEquals(2, stats.getEventStats().get(0).getRegistrations());
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+}
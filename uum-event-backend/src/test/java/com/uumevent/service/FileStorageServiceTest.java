@@ -0,0 +1,143 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.StoredFile;
+import com.uumevent.repository.StoredFileRepository;
+import com.uumevent.service.storage.LocalShardedStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Uploads into a store of their own; the stored_files rows are shared with the other tests, so
+// every upload has content of its own.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FileStorageServiceTest {
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalShardedStorageBackend storage;
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void createStore() {
+        storage = new LocalShardedStorageBackend(uploadDir, 2);
+        fileStorageService = new FileStorageService(uploadDir.toString(), storage, imageVariantService, storedFileRepository);
+    }
+
+    @Test
+    void identicalUploadsShareOneFile() throws IOException {
+        String content = "notes " + UUID.randomUUID();
+        String path = fileStorageService.storeFile(file("notes.txt", content));
+        StoredFile stored = storedFileRepository.findByPath(path).orElseThrow();
+        stored.setLastUploadedAt(Instant.now().minus(Duration.ofDays(2)));
+        storedFileRepository.save(stored);
+
+        assertEquals(path, fileStorageService.storeFile(file("copy of notes.TXT", content)));
+
+        assertTrue(path.startsWith(FileStorageService.UPLOADS_PREFIX) && path.endsWith(".txt"));
+        assertEquals(1, storage.list().size());
+        StoredFile deduplicated = storedFileRepository.findByPath(path).orElseThrow();
+        assertEquals(stored.getId(), deduplicated.getId());
+        assertTrue(deduplicated.getLastUploadedAt().isAfter(Instant.now().minus(Duration.ofMinutes(1))));
+        assertNotEquals(path, fileStorageService.storeFile(file("notes.txt", content + ".")));
+    }
+
+    @Test
+    void fileMissingFromTheStoreIsStoredAgain() throws IOException {
+        String content = "notes " + UUID.randomUUID();
+        String path = fileStorageService.storeFile(file("notes.txt", content));
+        storage.delete(FileStorageService.toKey(path));
+
+        assertEquals(path, fileStorageService.storeFile(file("notes.txt", content)));
+        assertTrue(storage.exists(FileStorageService.toKey(path)));
+    }
+
+    // Reference counts follow Event.imageUrl, which holds an absolute URL.
+    @Test
+    void referenceCountsFollowTheImageUrlsOfCommittedWrites() {
+        String path = fileStorageService.storeFile(file("poster.txt", "poster " + UUID.randomUUID()));
+        String url = "http://localhost:8080" + path;
+
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.updateReferences(null, url));
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.updateReferences(null, url));
+        assertEquals(2, refCount(path));
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.updateReferences(url, url));
+        assertEquals(2, refCount(path));
+        transactionTemplate.executeWithoutResult(status -> {
+            fileStorageService.updateReferences(url, null);
+            status.setRollbackOnly();
+        });
+        assertEquals(2, refCount(path));
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.updateReferences(url, "https://cdn.example.com/poster.png"));
+        assertEquals(1, refCount(path));
+    }
+
+    // The upload deduplicates to a file the collector is deleting: it waits for the collection
+    // and then stores the file again instead of handing out a path to nothing.
+    @Test
+    void uploadDuringACollectionStoresTheFileAgain() throws Exception {
+        String content = "notes " + UUID.randomUUID();
+        String path = fileStorageService.storeFile(file("notes.txt", content));
+        Long id = storedFileRepository.findByPath(path).orElseThrow().getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> collection = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            StoredFile storedFile = storedFileRepository.findLockedById(id).orElseThrow();
+            locked.countDown();
+            try {
+                Thread.sleep(300);
+                storage.delete(FileStorageService.toKey(path));
+            } catch (InterruptedException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+            storedFileRepository.delete(storedFile);
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        assertEquals(path, fileStorageService.storeFile(file("notes.txt", content)));
+
+        collection.get(10, TimeUnit.SECONDS);
+        assertTrue(storage.exists(FileStorageService.toKey(path)));
+        assertNotEquals(id, storedFileRepository.findByPath(path).orElseThrow().getId());
+        assertFalse(storedFileRepository.existsById(id));
+    }
+
+    private int refCount(String path) {
+        return storedFileRepository.findByPath(path).orElseThrow().getRefCount();
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
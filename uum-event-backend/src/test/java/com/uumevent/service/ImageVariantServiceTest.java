@@ -0,0 +1,92 @@
+package com.uumevent.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageVariantServiceTest {
+
+    @ParameterizedTest(name = "orientation {0}")
+    @CsvSource({
+            "1, 3, 2, 0, 0",
+            "2, 3, 2, 2, 0",
+            "3, 3, 2, 2, 1",
+            "4, 3, 2, 0, 1",
+            "5, 2, 3, 0, 0",
+            "6, 2, 3, 1, 0",
+            "7, 2, 3, 1, 2",
+            "8, 2, 3, 0, 2"
+    })
+    void orientationMovesTheTopLeftPixel(int orientation, int width, int height, int x, int y) {
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 2; j++) {
+                image.setRGB(i, j, Color.WHITE.getRGB());
+            }
+        }
+        image.setRGB(0, 0, Color.RED.getRGB());
+
+        BufferedImage oriented = ImageVariantService.applyOrientation(image, orientation);
+
+        assertEquals(width, oriented.getWidth());
+        assertEquals(height, oriented.getHeight());
+        assertEquals(Color.RED.getRGB(), oriented.getRGB(x, y));
+    }
+
+    @Test
+    void readsOrientationInEitherByteOrder() {
+        assertEquals(6, ImageVariantService.readExifOrientation(jpegWithOrientation(ByteOrder.BIG_ENDIAN, 8, 6)));
+        assertEquals(7, ImageVariantService.readExifOrientation(jpegWithOrientation(ByteOrder.LITTLE_ENDIAN, 8, 7)));
+    }
+
+    @Test
+    void malformedExifReadsAsUpright() {
+        assertEquals(1, ImageVariantService.readExifOrientation(jpegWithOrientation(ByteOrder.BIG_ENDIAN, 0x7FFFFFF0, 6)));
+        assertEquals(1, ImageVariantService.readExifOrientation(jpegWithOrientation(ByteOrder.BIG_ENDIAN, -8, 6)));
+        assertEquals(1, ImageVariantService.readExifOrientation(jpegWithOrientation(ByteOrder.BIG_ENDIAN, 8, 42)));
+        byte[] jpeg = jpegWithOrientation(ByteOrder.LITTLE_ENDIAN, 8, 6);
+        for (int length = 0; length < jpeg.length; length++) {
+            int orientation = ImageVariantService.readExifOrientation(Arrays.copyOf(jpeg, length));
+            assertEquals(length >= 34 ? 6 : 1, orientation, "truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void refusesToDecodeMoreThanMaxPixels() throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        assertEquals(20, service(400).decode(png.toByteArray()).getWidth());
+        assertThrows(IOException.class, () -> service(399).decode(png.toByteArray()));
+    }
+
+    private static ImageVariantService service(long maxPixels) {
+        return new ImageVariantService(null, null, null, null, 0.82f, maxPixels);
+    }
+
+    // SOI, an APP1 segment with a one-entry IFD0 holding the orientation tag, then SOS.
+    private static byte[] jpegWithOrientation(ByteOrder order, int ifdOffset, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26).order(order);
+        tiff.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[] {'I', 'I'} : new byte[] {'M', 'M'});
+        tiff.putShort((short) 42).putInt(ifdOffset);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        ByteBuffer jpeg = ByteBuffer.allocate(2 + 4 + 6 + tiff.capacity() + 2);
+        jpeg.putShort((short) 0xFFD8).putShort((short) 0xFFE1).putShort((short) (2 + 6 + tiff.capacity()));
+        jpeg.put(new byte[] {'E', 'x', 'i', 'f', 0, 0}).put(tiff.array());
+        jpeg.putShort((short) 0xFFDA);
+        return jpeg.array();
+    }
+}
@@ -0,0 +1,123 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.Notification;
+import com.uumevent.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dispatches queued mail from the test database through a stub SMTP sender.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("mailTaskExecutor")
+    private ThreadPoolTaskExecutor mailTaskExecutor;
+
+    private final StubMailSender mailSender = new StubMailSender();
+
+    @BeforeEach
+    void emptyQueue() {
+        notificationRepository.deleteAllInBatch();
+    }
+
+    // SMTP runs with no transaction open, and the claimed mail is no longer due for other nodes.
+    @Test
+    void sendsOutsideTheClaimTransaction() throws Exception {
+        Long first = queue("first@uum.edu.my");
+        Long second = queue("second@uum.edu.my");
+        mailSender.during = () -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            assertTrue(notificationRepository.findAll().stream().allMatch(mail -> mail.getNextAttemptAt().isAfter(Instant.now())));
+        };
+
+        dispatcher().dispatch();
+
+        assertEquals(2, mailSender.recipients.size());
+        for (Long id : List.of(first, second)) {
+            Notification sent = notificationRepository.findById(id).orElseThrow();
+            assertEquals(Notification.STATUS_SENT, sent.getStatus());
+            assertEquals(1, sent.getAttempts());
+            assertNotNull(sent.getSentAt());
+        }
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        Long id = queue("student@uum.edu.my");
+        mailSender.fail = true;
+        Instant before = Instant.now();
+
+        dispatcher().dispatch();
+
+        Notification retried = notificationRepository.findById(id).orElseThrow();
+        assertEquals(Notification.STATUS_PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("SMTP server unavailable", retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+        assertTrue(retried.getNextAttemptAt().isBefore(before.plusSeconds(120)));
+    }
+
+    private NotificationDispatcher dispatcher() {
+        return new NotificationDispatcher(notificationRepository, mailSender, mailTaskExecutor, transactionTemplate, new SimpleMeterRegistry(),
+                "no-reply@uum.edu.my", 50, 2, 6, 30_000, 3_600_000, 300_000);
+    }
+
+    private Long queue(String recipient) {
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setSubject("Registration confirmed: Career fair");
+        notification.setBody("See you there!");
+        return notificationRepository.save(notification).getId();
+    }
+
+    private static final class StubMailSender extends JavaMailSenderImpl {
+        private final List<String> recipients = new ArrayList<>();
+        private Runnable during = () -> { };
+        private boolean fail;
+
+        @Override
+        public synchronized void send(MimeMessage... messages) {
+            during.run();
+            if (fail) {
+                throw new MailSendException("SMTP server unavailable");
+            }
+            for (MimeMessage message : messages) {
+                try {
+                    recipients.add(message.getAllRecipients()[0].toString());
+                } catch (MessagingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.uumevent.service;
+
+import com.uumevent.entity.OutboxEvent;
+import com.uumevent.repository.OutboxEventRepository;
+import com.uumevent.service.outbox.OutboxSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Relays over the test database with a stub sink in place of the configured ones.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final StubSink sink = new StubSink();
+
+    @BeforeEach
+    void emptyOutbox() {
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deliversBatchesInIdOrderAndDeletesThem() {
+        List<Long> ids = List.of(record(), record(), record(), record(), record());
+
+        relay(2).relay();
+
+        assertEquals(List.of(ids.subList(0, 2), ids.subList(2, 4), ids.subList(4, 5)), sink.batches);
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    // The sink runs with no transaction, so no row lock or pooled connection is held during its
+    // I/O; the claim alone keeps a second relay off the batch meanwhile.
+    @Test
+    void publishesOutsideTheClaimTransaction() {
+        record();
+        OutboxRelay other = relay(10);
+        sink.during = () -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            OutboxEvent claimed = outboxEventRepository.findAll().get(0);
+            assertTrue(claimed.getClaimedUntil().isAfter(Instant.now()));
+            other.relay();
+        };
+
+        relay(10).relay();
+
+        assertEquals(1, sink.batches.size());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void failedBatchIsReleasedAndRetried() {
+        Long id = record();
+        sink.failures = 1;
+
+        relay(10).relay();
+
+        OutboxEvent released = outboxEventRepository.findById(id).orElseThrow();
+        assertNull(released.getClaimedBy());
+        assertNull(released.getClaimedUntil());
+
+        relay(10).relay();
+
+        assertEquals(List.of(List.of(id), List.of(id)), sink.batches);
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void expiredClaimIsTakenOver() {
+        Long id = record();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.markClaimed(List.of(id), "crashed-relay", Instant.now().minusSeconds(1)));
+
+        relay(10).relay();
+
+        assertEquals(List.of(List.of(id)), sink.batches);
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        return new OutboxRelay(outboxEventRepository, List.of(sink), transactionTemplate, new SimpleMeterRegistry(), batchSize, 10, 60_000);
+    }
+
+    private Long record() {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType("event");
+        event.setAggregateId(1L);
+        event.setEventType("EventUpdated");
+        event.setPayload("{\"id\":1}");
+        return outboxEventRepository.save(event).getId();
+    }
+
+    private static final class StubSink implements OutboxSink {
+        private final List<List<Long>> batches = new ArrayList<>();
+        private Runnable during = () -> { };
+        private int failures;
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public void publish(List<OutboxEvent> events) throws IOException {
+            batches.add(events.stream().map(OutboxEvent::getId).toList());
+            during.run();
+            if (failures > 0) {
+                failures--;
+                throw new IOException("webhook unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.RegistrationTimeSeriesDto;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.entity.RegistrationBucket;
+import com.uumevent.repository.EventRepository;
+import com.uumevent.repository.RegistrationBucketRepository;
+import com.uumevent.repository.RegistrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Each test runs its own instances of the service on the shared database, as several application
+// instances would.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegistrationAnalyticsServiceTest {
+
+    @Autowired
+    private RegistrationBucketRepository bucketRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String organizerEmail;
+    private Long eventId;
+
+    @BeforeEach
+    void createEvent() {
+        organizerEmail = signUp("organizer");
+        eventId = eventService.createEvent(EventServiceTest.event("Career fair"), organizerEmail).getId();
+    }
+
+    // Each instance adds what it counted since its previous checkpoint, so the rows hold the sum.
+    @Test
+    void checkpointsOfSeveralInstancesAddUp() {
+        Instant at = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        RegistrationAnalyticsService first = instance();
+        RegistrationAnalyticsService second = instance();
+        recordTimes(first, 3, at);
+        recordTimes(second, 2, at);
+
+        first.checkpoint();
+        second.checkpoint();
+        first.checkpoint();
+        assertEquals(5, checkpointed("minute", at));
+        assertEquals(5, checkpointed("day", at.truncatedTo(ChronoUnit.DAYS)));
+
+        first.record(eventId, at);
+        first.checkpoint();
+        assertEquals(6, checkpointed("minute", at));
+    }
+
+    @Test
+    void initRestoresTheCheckpoint() {
+        Instant at = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        RegistrationAnalyticsService first = instance();
+        recordTimes(first, 2, at);
+        first.checkpoint();
+        RegistrationAnalyticsService second = instance();
+        recordTimes(second, 1, at);
+        second.checkpoint();
+
+        RegistrationAnalyticsService restarted = instance();
+        restarted.init();
+        assertEquals(3, restarted.getTimeSeries(eventId, "minute", 1, organizerEmail, at).getTotal());
+
+        // Restored counts are already in the table.
+        restarted.checkpoint();
+        assertEquals(3, checkpointed("minute", at));
+    }
+
+    // Without any checkpoint the series are rebuilt from the registrations and written once.
+    @Test
+    void initRebuildsFromTheRegistrationsWithoutACheckpoint() {
+        registrationService.registerUserForEvent(eventId, signUp("student"), null);
+        registrationService.registerUserForEvent(eventId, signUp("student"), null);
+        bucketRepository.deleteAll();
+
+        RegistrationAnalyticsService rebuilt = instance();
+        rebuilt.init();
+        Instant now = Instant.now();
+        assertEquals(2, rebuilt.getTimeSeries(eventId, "hour", 2, organizerEmail, now).getTotal());
+        assertEquals(2, checkpointed("day", now.truncatedTo(ChronoUnit.DAYS)));
+
+        rebuilt.checkpoint();
+        RegistrationAnalyticsService restarted = instance();
+        restarted.init();
+        assertEquals(2, restarted.getTimeSeries(eventId, "hour", 2, organizerEmail, now).getTotal());
+        assertEquals(2, checkpointed("day", now.truncatedTo(ChronoUnit.DAYS)));
+    }
+
+    @Test
+    void rolledBackRegistrationsAreNotCounted() {
+        RegistrationAnalyticsService analytics = instance();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            analytics.registrationCommitted(eventId);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, analytics.getTimeSeries(eventId, "minute", 2, organizerEmail).getTotal());
+
+        transaction.executeWithoutResult(status -> {
+            analytics.registrationCommitted(eventId);
+            assertEquals(0, analytics.getTimeSeries(eventId, "minute", 2, organizerEmail).getTotal());
+        });
+        assertEquals(1, analytics.getTimeSeries(eventId, "minute", 2, organizerEmail).getTotal());
+    }
+
+    // A day of minutes: the bucket a day later reuses the slot and evicts the older one.
+    @Test
+    void bucketsOlderThanTheRingAreEvicted() {
+        RegistrationAnalyticsService analytics = instance();
+        Instant start = Instant.parse("2026-03-01T08:00:00Z");
+        Instant dayLater = start.plus(Duration.ofDays(1));
+        recordTimes(analytics, 2, start);
+        assertEquals(2, analytics.getTimeSeries(eventId, "minute", 1, organizerEmail, start).getTotal());
+
+        analytics.record(eventId, dayLater);
+        RegistrationTimeSeriesDto day = analytics.getTimeSeries(eventId, "minute", 1440, organizerEmail, dayLater);
+        assertEquals(1, day.getTotal());
+        assertEquals(start.plus(Duration.ofMinutes(1)), day.getBuckets().get(0).start());
+        assertEquals(new RegistrationTimeSeriesDto.Point(dayLater, 1), day.getBuckets().get(1439));
+        assertEquals(0, analytics.getTimeSeries(eventId, "minute", 1, organizerEmail, start).getTotal());
+
+        // Too old for the minute ring, still within the hour ring.
+        analytics.record(eventId, start);
+        analytics.record(eventId, start.plus(Duration.ofMinutes(1)));
+        assertEquals(2, analytics.getTimeSeries(eventId, "minute", 1440, organizerEmail, dayLater).getTotal());
+        assertEquals(5, analytics.getTimeSeries(eventId, "hour", 25, organizerEmail, dayLater).getTotal());
+    }
+
+    @Test
+    void limitIsBoundedByTheRing() {
+        RegistrationAnalyticsService analytics = instance();
+
+        assertEquals(1440, analytics.getTimeSeries(eventId, "minute", 1440, organizerEmail).getBuckets().size());
+        assertEquals(730, analytics.getTimeSeries(eventId, "day", 730, organizerEmail).getBuckets().size());
+        for (int limit : new int[]{0, 1441}) {
+            assertThrows(IllegalArgumentException.class, () -> analytics.getTimeSeries(eventId, "minute", limit, organizerEmail));
+        }
+        assertThrows(IllegalArgumentException.class, () -> analytics.getTimeSeries(eventId, "hour", 721, organizerEmail));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getTimeSeries(eventId, "day", 731, organizerEmail));
+    }
+
+    private RegistrationAnalyticsService instance() {
+        return new RegistrationAnalyticsService(bucketRepository, registrationRepository, eventRepository);
+    }
+
+    private void recordTimes(RegistrationAnalyticsService analytics, int times, Instant at) {
+        for (int i = 0; i < times; i++) {
+            analytics.record(eventId, at);
+        }
+    }
+
+    private int checkpointed(String resolution, Instant bucketStart) {
+        return bucketRepository.findById(new RegistrationBucket.Key(eventId, resolution, bucketStart))
+                .map(RegistrationBucket::getRegistrations)
+                .orElse(0);
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+}
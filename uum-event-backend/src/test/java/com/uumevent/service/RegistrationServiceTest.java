@@ -0,0 +1,86 @@
+package com.uumevent.service;
+
+import com.uumevent.config.SqlStatementBudget;
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.dto.TicketDto;
+import com.uumevent.entity.Notification;
+import com.uumevent.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegistrationServiceTest {
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private String organizerEmail;
+    private String studentEmail;
+
+    @BeforeEach
+    void registerUsers() {
+        organizerEmail = signUp("organizer");
+        studentEmail = signUp("student");
+    }
+
+    @Test
+    void registrationAndTicketListStayWithinStatementBudgets() {
+        EventDto event = eventService.createEvent(EventServiceTest.event("Orientation"), organizerEmail);
+
+        TicketDto ticket = SqlStatementBudget.atMost(12, () -> registrationService.registerUserForEvent(event.getId(), studentEmail, null));
+        List<TicketDto> tickets = SqlStatementBudget.atMost(3, () -> registrationService.getTicketsForUser(studentEmail));
+        List<TicketDto> cached = SqlStatementBudget.atMost(0, () -> registrationService.getTicketsForUser(studentEmail));
+
+        assertEquals(List.of(ticket.getId()), tickets.stream().map(TicketDto::getId).toList());
+        assertEquals(tickets, cached);
+    }
+
+    // The confirmation mail's subject is cut to fit notifications.subject rather than failing the registration.
+    @Test
+    void registersForEventWithLongestTitle() {
+        EventDto longTitle = EventServiceTest.event("Orientation");
+        longTitle.setTitle(longTitle.getTitle() + " " + "x".repeat(255 - longTitle.getTitle().length() - 1));
+        EventDto event = eventService.createEvent(longTitle, organizerEmail);
+
+        TicketDto ticket = registrationService.registerUserForEvent(event.getId(), studentEmail, null);
+
+        assertEquals(event.getTitle(), ticket.getEventTitle());
+        Notification confirmation = notificationRepository.findAll().stream()
+                .filter(notification -> notification.getRecipient().equals(studentEmail))
+                .findFirst().orElseThrow();
+        assertEquals(255, confirmation.getSubject().length());
+        assertTrue(confirmation.getSubject().startsWith("Registration confirmed: Orientation"));
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+}
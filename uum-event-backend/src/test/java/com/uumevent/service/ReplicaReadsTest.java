@@ -0,0 +1,158 @@
+package com.uumevent.service;
+
+import com.uumevent.config.ReadWriteRoutingDataSource;
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SignUpRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The services on a routing data source whose "replica" is a second pool on the same database,
+// i.e. a replica without lag. Each pool records the connections it hands out, so a test sees which
+// one served every statement its own thread ran.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:uum-replica-test;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaReadsTest {
+
+    private static final Queue<Checkout> checkouts = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private AuthService authService;
+
+    private String organizerEmail;
+
+    @BeforeEach
+    void registerOrganizer() {
+        organizerEmail = signUp("organizer");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The ids come from the replica; only the events missing from the cache from the primary.
+    @Test
+    void listingsReadIdsFromTheReplica() {
+        eventService.createEvent(EventServiceTest.event("Career fair"), organizerEmail);
+
+        assertEquals(List.of("replica", "primary"), pools(() -> eventService.getAllEvents()));
+        assertEquals(List.of("replica"), pools(() -> eventService.getAllEvents()));
+        assertEquals(List.of("replica", "replica"), pools(() -> eventService.getEventsByOrganizer(organizerEmail)));
+    }
+
+    // Ticket lists are only read as cache entries, which load from the primary (CoherentCache).
+    @Test
+    void ticketListsLoadFromThePrimary() {
+        EventDto event = eventService.createEvent(EventServiceTest.event("Career fair"), organizerEmail);
+        String studentEmail = signUp("student");
+        registrationService.registerUserForEvent(event.getId(), studentEmail, null);
+
+        assertEquals(List.of("primary"), pools(() -> registrationService.getTicketsForUser(studentEmail)));
+        assertEquals(List.of(), pools(() -> registrationService.getTicketsForUser(studentEmail)));
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheUsersRegistration() {
+        EventDto event = eventService.createEvent(EventServiceTest.event("Career fair"), organizerEmail);
+        eventService.getAllEvents();
+        String studentEmail = signUp("student");
+        authenticate(studentEmail);
+
+        registrationService.registerUserForEvent(event.getId(), studentEmail, null);
+
+        // The registration evicted its event, which is loaded again from the primary as well.
+        assertEquals(List.of("primary", "primary"), pools(() -> eventService.getAllEvents()));
+        authenticate(signUp("student"));
+        assertEquals(List.of("replica"), pools(() -> eventService.getAllEvents()));
+    }
+
+    private static List<String> pools(Runnable work) {
+        checkouts.clear();
+        work.run();
+        List<String> pools = new ArrayList<>();
+        for (Checkout checkout : checkouts) {
+            if (checkout.thread() == Thread.currentThread()) {
+                pools.add(checkout.pool());
+            }
+        }
+        return pools;
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+    }
+
+    private record Checkout(Thread thread, String pool) {
+    }
+
+    @TestConfiguration
+    static class ReplicaStandIn {
+
+        @Bean
+        ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties properties) {
+            return new ReadWriteRoutingDataSource(recording("primary", properties),
+                    List.of(new ReadWriteRoutingDataSource.Replica("replica-0", recording("replica", properties))),
+                    Duration.ofSeconds(30), Duration.ofSeconds(5));
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        }
+
+        private static DataSource recording(String pool, DataSourceProperties properties) {
+            return new DelegatingDataSource(properties.initializeDataSourceBuilder().build()) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    checkouts.add(new Checkout(Thread.currentThread(), pool));
+                    return super.getConnection();
+                }
+            };
+        }
+    }
+}
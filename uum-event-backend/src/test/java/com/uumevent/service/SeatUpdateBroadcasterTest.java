@@ -0,0 +1,142 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.SeatUpdateDto;
+import com.uumevent.entity.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One writer thread, so a single stalled client would block every other subscriber if nothing
+// replaced it. The client emitters lock like SseEmitter does: complete() waits for a blocked send().
+class SeatUpdateBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch unstall = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor writers;
+    private SeatUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        writers = new ThreadPoolTaskExecutor();
+        writers.setCorePoolSize(1);
+        writers.setMaxPoolSize(1);
+        writers.setQueueCapacity(100);
+        writers.setThreadNamePrefix("writer-");
+        writers.initialize();
+        broadcaster = new SeatUpdateBroadcaster(writers, meterRegistry, 20, 60_000, 4, 100, 60_000, 200, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unstall.countDown();
+        broadcaster.shutdown();
+        writers.shutdown();
+    }
+
+    @Test
+    void stalledClientIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        Client stalled = new Client(unstall);
+        Client healthy = new Client(null);
+        broadcaster.subscribe(Set.of(), List.of(seats(1, 10)), stalled);
+        broadcaster.subscribe(Set.of(), List.of(seats(1, 10)), healthy);
+
+        await(() -> healthy.sent.size() == 1);
+        assertEquals(1, dropped("write-timeout"));
+        broadcaster.seatsChanged(event(1, 11));
+        await(() -> healthy.sent.size() == 2);
+        assertEquals(1, stalled.sent.size());
+
+        unstall.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.completedOn.startsWith("writer-"), stalled.completedOn);
+        await(() -> writers.getCorePoolSize() == 1 && writers.getMaxPoolSize() == 1);
+    }
+
+    @Test
+    void fullBufferIsClosedByTheWriterNotTheFlusher() throws Exception {
+        Client stalled = new Client(unstall);
+        broadcaster.subscribe(Set.of(), List.of(seats(1, 10)), stalled);
+        for (long eventId = 2; eventId <= 7; eventId++) {
+            broadcaster.seatsChanged(event(eventId, 1));
+        }
+        await(() -> dropped("buffer-full") == 1);
+
+        // The flusher is not stuck behind the stalled send: a new subscriber still gets updates.
+        Client healthy = new Client(null);
+        broadcaster.subscribe(Set.of(), List.of(), healthy);
+        broadcaster.seatsChanged(event(8, 1));
+        await(() -> healthy.sent.size() == 1);
+
+        unstall.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.completedOn.startsWith("writer-"), stalled.completedOn);
+        assertEquals(1, stalled.sent.size());
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("sse.subscribers.dropped", "reason", reason).count();
+    }
+
+    private static SeatUpdateDto seats(long eventId, int currentAttendees) {
+        return new SeatUpdateDto(eventId, currentAttendees, 100, false);
+    }
+
+    private static Event event(long eventId, int currentAttendees) {
+        Event event = new Event();
+        event.setId(eventId);
+        event.setCurrentAttendees(currentAttendees);
+        event.setMaxAttendees(100);
+        return event;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class Client extends SseEmitter {
+        private final CountDownLatch stall;
+        private final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile String completedOn;
+
+        Client(CountDownLatch stall) {
+            this.stall = stall;
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            sent.add(items);
+            if (stall != null) {
+                try {
+                    stall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completedOn = Thread.currentThread().getName();
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.TicketDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketLinkServiceTest {
+
+    private static final long TTL_MS = 600_000;
+
+    private final TicketLinkService ticketLinkService = new TicketLinkService("secret", TTL_MS);
+
+    @Test
+    void signedLinksVerifyForTheirTicketUntilTheyExpire() {
+        TicketDto signed = ticketLinkService.withSignedLinks(TicketDto.builder()
+                .id(7L)
+                .qrImageUrl("/api/tickets/7/qr.png?v=1-320")
+                .pdfUrl("/api/tickets/7/ticket.pdf")
+                .build());
+
+        long expires = Long.parseLong(parameter(signed.getPdfUrl(), "expires"));
+        String signature = parameter(signed.getPdfUrl(), "signature");
+        assertTrue(signed.getQrImageUrl().startsWith("/api/tickets/7/qr.png?v=1-320&expires=" + expires + "&signature=" + signature));
+        assertTrue(ticketLinkService.verify(7L, expires, signature));
+        assertTrue(ticketLinkService.verify(7L, expires, signature, expires));
+
+        assertFalse(ticketLinkService.verify(7L, expires, signature, expires + 1));
+        assertFalse(ticketLinkService.verify(8L, expires, signature));
+        assertFalse(ticketLinkService.verify(7L, expires + TTL_MS, signature));
+        assertFalse(new TicketLinkService("other", TTL_MS).verify(7L, expires, signature));
+    }
+
+    // Links stay the same within a lifetime, so the browser keeps hitting its cached QR image.
+    @Test
+    void expiryIsRoundedUpToTheNextWindow() {
+        assertEquals(2 * TTL_MS, ticketLinkService.expiry(0));
+        assertEquals(2 * TTL_MS, ticketLinkService.expiry(TTL_MS - 1));
+        assertEquals(3 * TTL_MS, ticketLinkService.expiry(TTL_MS));
+    }
+
+    @Test
+    void missingLinksStayMissing() {
+        assertNull(ticketLinkService.withSignedLinks(TicketDto.builder().id(7L).build()).getPdfUrl());
+    }
+
+    private static String parameter(String url, String name) {
+        for (String pair : url.substring(url.indexOf('?') + 1).split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        throw new AssertionError(name + " missing from " + url);
+    }
+}
@@ -0,0 +1,183 @@
+package com.uumevent.service;
+
+import com.uumevent.dto.EventDto;
+import com.uumevent.dto.SignUpRequest;
+import com.uumevent.entity.StoredFile;
+import com.uumevent.repository.ArchivedEventRepository;
+import com.uumevent.repository.EventRepository;
+import com.uumevent.repository.ImageAssetRepository;
+import com.uumevent.repository.StoredFileRepository;
+import com.uumevent.service.storage.LocalShardedStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Collections with a grace period of a day over a store of their own. The uploads of a test are
+// backdated two days; those of the other tests in the shared stored_files table are recent and
+// left alone.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadGarbageCollectorTest {
+
+    private static final Duration TWO_DAYS = Duration.ofDays(2);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private ImageAssetRepository imageAssetRepository;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AuthService authService;
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalShardedStorageBackend storage;
+    private FileStorageService fileStorageService;
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void createStore() {
+        storage = new LocalShardedStorageBackend(uploadDir, 2);
+        fileStorageService = new FileStorageService(uploadDir.toString(), storage, imageVariantService, storedFileRepository);
+        collector = new UploadGarbageCollector(eventRepository, archivedEventRepository, storedFileRepository,
+                imageAssetRepository, storage, transactionTemplate, 24);
+    }
+
+    @Test
+    void collectsOldUnreferencedUploads() throws IOException {
+        String old = backdated(upload());
+        String recent = upload();
+
+        collector.collectGarbage();
+
+        assertFalse(storedFileRepository.findByPath(old).isPresent());
+        assertFalse(storage.exists(FileStorageService.toKey(old)));
+        assertTrue(storedFileRepository.findByPath(recent).isPresent());
+        assertTrue(storage.exists(FileStorageService.toKey(recent)));
+    }
+
+    @Test
+    void keepsUploadsAnEventPointsAtAndCorrectsTheirCount() throws IOException {
+        String path = backdated(upload());
+        EventDto event = EventServiceTest.event("Career fair");
+        event.setImageUrl("http://localhost:8080" + path);
+        eventService.createEvent(event, signUp("organizer"));
+        StoredFile drifted = storedFileRepository.findByPath(path).orElseThrow();
+        drifted.setRefCount(3);
+        storedFileRepository.save(drifted);
+
+        collector.collectGarbage();
+
+        assertEquals(1, storedFileRepository.findByPath(path).orElseThrow().getRefCount());
+        assertTrue(storage.exists(FileStorageService.toKey(path)));
+    }
+
+    @Test
+    void sweepsOldFilesWithoutARow() throws IOException {
+        String old = backdated(upload());
+        String recent = upload();
+        storedFileRepository.delete(storedFileRepository.findByPath(old).orElseThrow());
+        storedFileRepository.delete(storedFileRepository.findByPath(recent).orElseThrow());
+
+        collector.collectGarbage();
+
+        assertFalse(storage.exists(FileStorageService.toKey(old)));
+        assertTrue(storage.exists(FileStorageService.toKey(recent)));
+    }
+
+    // Between the mark and the collection of a file, an upload deduplicated to it or an event
+    // took it: the file stays.
+    @Test
+    void keepsUploadsDeduplicatedToAfterTheMark() throws IOException {
+        String content = "notes " + UUID.randomUUID();
+        String path = backdated(fileStorageService.storeFile(file(content)));
+        StoredFile marked = storedFileRepository.findByPath(path).orElseThrow();
+
+        assertEquals(path, fileStorageService.storeFile(file(content)));
+
+        assertFalse(collect(marked));
+        assertTrue(storage.exists(FileStorageService.toKey(path)));
+    }
+
+    @Test
+    void keepsUploadsReferencedAfterTheMark() throws IOException {
+        String path = backdated(upload());
+        StoredFile marked = storedFileRepository.findByPath(path).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> fileStorageService.updateReferences(null, "http://localhost:8080" + path));
+
+        assertFalse(collect(marked));
+        assertTrue(storage.exists(FileStorageService.toKey(path)));
+        assertTrue(collect(storedFileRepository.findByPath(path).orElseThrow()));
+        assertFalse(storage.exists(FileStorageService.toKey(path)));
+    }
+
+    private boolean collect(StoredFile marked) {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(24));
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> collector.collect(marked, cutoff)));
+    }
+
+    private String upload() {
+        return fileStorageService.storeFile(file("notes " + UUID.randomUUID()));
+    }
+
+    private String backdated(String path) throws IOException {
+        Instant twoDaysAgo = Instant.now().minus(TWO_DAYS);
+        StoredFile storedFile = storedFileRepository.findByPath(path).orElseThrow();
+        storedFile.setLastUploadedAt(twoDaysAgo);
+        storedFileRepository.save(storedFile);
+        Files.setLastModifiedTime(storage.resolve(FileStorageService.toKey(path)), FileTime.from(twoDaysAgo));
+        return path;
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "notes.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String signUp(String role) {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName(role);
+        signUp.setEmail(role + "-" + UUID.randomUUID() + "@uum.edu.my");
+        signUp.setPassword("secret123");
+        signUp.setRole(role);
+        authService.register(signUp);
+        return signUp.getEmail();
+    }
+}
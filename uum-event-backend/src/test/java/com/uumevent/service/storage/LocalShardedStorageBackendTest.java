@@ -0,0 +1,128 @@
+package com.uumevent.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalShardedStorageBackendTest {
+
+    private static final String KEY = "AbCdef0123456789.jpg";
+
+    @TempDir
+    Path root;
+
+    @Test
+    void keysLiveUnderTwoLevelsOfLowerCasePrefixes() {
+        assertEquals(root.resolve("ab/cd/" + KEY), new LocalShardedStorageBackend(root, 2).resolve(KEY));
+        assertEquals(root.resolve("ab/" + KEY), new LocalShardedStorageBackend(root, 1).resolve(KEY));
+        assertEquals(root.resolve(KEY), new LocalShardedStorageBackend(root, 0).resolve(KEY));
+        // Too short for a second level.
+        assertEquals(root.resolve("ab/abc"), new LocalShardedStorageBackend(root, 2).resolve("abc"));
+    }
+
+    @Test
+    void rejectsKeysThatCouldLeaveTheRoot() {
+        LocalShardedStorageBackend storage = new LocalShardedStorageBackend(root, 2);
+
+        for (String key : new String[]{"../etc/passwd", ".incoming", "a/b.jpg", "a..jpg", ""}) {
+            assertThrows(IllegalArgumentException.class, () -> storage.resolve(key), key);
+        }
+    }
+
+    @Test
+    void storesLoadsAndDeletesAKey() throws IOException {
+        LocalShardedStorageBackend storage = new LocalShardedStorageBackend(root, 2);
+        Path source = Files.writeString(root.resolve("source.tmp"), "image");
+
+        storage.store(KEY, source, "image/jpeg");
+
+        assertTrue(Files.exists(source));
+        assertTrue(storage.exists(KEY));
+        assertEquals(root.resolve("ab/cd/" + KEY), storage.localPath(KEY));
+        Resource resource = storage.load(KEY);
+        assertEquals(5, resource.contentLength());
+        try (InputStream in = storage.open(KEY)) {
+            assertArrayEquals("image".getBytes(), in.readAllBytes());
+        }
+        try (var staging = Files.list(root.resolve("ab/cd"))) {
+            assertEquals(List.of(KEY), staging.map(p -> p.getFileName().toString()).toList());
+        }
+
+        storage.delete(KEY);
+        assertFalse(storage.exists(KEY));
+        assertNull(storage.load(KEY));
+        assertNull(storage.localPath(KEY));
+        storage.delete(KEY);
+    }
+
+    // Uploads from before sharding are moved into their shard at startup; anything else in the
+    // root (the .incoming directory, stray files) stays where it is.
+    @Test
+    void movesFlatUploadsIntoTheirShards() throws IOException {
+        Files.writeString(root.resolve(KEY), "flat");
+        Files.createDirectories(root.resolve(".incoming"));
+        Files.writeString(root.resolve(".incoming/0123abcd.tmp"), "uploading");
+        Files.writeString(root.resolve(".DS_Store"), "");
+
+        LocalShardedStorageBackend storage = new LocalShardedStorageBackend(root, 2);
+
+        assertFalse(Files.exists(root.resolve(KEY)));
+        assertEquals("flat", Files.readString(root.resolve("ab/cd/" + KEY)));
+        assertTrue(Files.exists(root.resolve(".incoming/0123abcd.tmp")));
+        assertTrue(Files.exists(root.resolve(".DS_Store")));
+        assertEquals(Set.of(KEY), keys(storage));
+
+        // Idempotent: a second start finds nothing left to move.
+        assertEquals(Set.of(KEY), keys(new LocalShardedStorageBackend(root, 2)));
+    }
+
+    @Test
+    void flatLayoutIsKeptWithoutSharding() throws IOException {
+        Files.writeString(root.resolve(KEY), "flat");
+
+        LocalShardedStorageBackend storage = new LocalShardedStorageBackend(root, 0);
+
+        assertTrue(Files.exists(root.resolve(KEY)));
+        assertEquals(Set.of(KEY), keys(storage));
+    }
+
+    // Only files at the place their key resolves to are listed: not uploads still in .incoming,
+    // staging files of a store in progress, or files in the wrong shard.
+    @Test
+    void listSkipsIncomingStagingAndMisplacedFiles() throws IOException {
+        LocalShardedStorageBackend storage = new LocalShardedStorageBackend(root, 2);
+        Path source = Files.writeString(root.resolve("source.tmp"), "image");
+        storage.store(KEY, source, "image/jpeg");
+        storage.store("0123abcd_card.jpg", source, "image/jpeg");
+        Files.delete(source);
+        Files.createDirectories(root.resolve(".incoming"));
+        Files.writeString(root.resolve(".incoming/abcd0123.jpg"), "uploading");
+        Files.writeString(root.resolve("ab/cd/.staging-1.tmp"), "partial");
+        Files.createDirectories(root.resolve("ff/ff"));
+        Files.writeString(root.resolve("ff/ff/abcd9999.jpg"), "misplaced");
+
+        List<StorageBackend.StoredObject> objects = storage.list();
+
+        assertEquals(Set.of(KEY, "0123abcd_card.jpg"), objects.stream().map(StorageBackend.StoredObject::key).collect(Collectors.toSet()));
+        assertTrue(objects.stream().allMatch(object -> object.size() == 5 && object.lastModified() != null));
+    }
+
+    private static Set<String> keys(StorageBackend storage) throws IOException {
+        return storage.list().stream().map(StorageBackend.StoredObject::key).collect(Collectors.toSet());
+    }
+}
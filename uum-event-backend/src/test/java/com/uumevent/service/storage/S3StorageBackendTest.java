@@ -0,0 +1,304 @@
+package com.uumevent.service.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.uumevent.config.StorageConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The backend as StorageConfig builds it for an S3-compatible endpoint, against a stub that keeps
+// the objects of one bucket in memory and answers the few S3 calls the backend makes.
+class S3StorageBackendTest {
+
+    private static final String KEY = "abcdef0123456789.jpg";
+
+    @TempDir
+    Path dir;
+
+    private StubS3 s3;
+    private S3StorageBackend storage;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        s3 = new StubS3("uploads");
+        storage = (S3StorageBackend) new StorageConfig().s3StorageBackend("uploads", "events/", "us-east-1", s3.endpoint(), "minioadmin", "minioadmin");
+    }
+
+    @AfterEach
+    void stopStub() {
+        storage.close();
+        s3.stop();
+    }
+
+    @Test
+    void storesLoadsAndDeletesUnderThePrefix() throws IOException {
+        storage.store(KEY, Files.writeString(dir.resolve("source.tmp"), "image"), "image/jpeg");
+
+        assertArrayEquals("image".getBytes(), s3.objects.get("events/" + KEY).content());
+        assertEquals("image/jpeg", s3.objects.get("events/" + KEY).contentType());
+        assertTrue(storage.exists(KEY));
+        try (InputStream in = storage.open(KEY)) {
+            assertArrayEquals("image".getBytes(), in.readAllBytes());
+        }
+        Resource resource = storage.load(KEY);
+        assertEquals(KEY, resource.getFilename());
+        assertEquals("s3://uploads/events/" + KEY, resource.getDescription());
+        assertEquals(5, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals("image".getBytes(), in.readAllBytes());
+        }
+        assertNull(storage.localPath(KEY));
+
+        storage.delete(KEY);
+        assertFalse(storage.exists(KEY));
+        assertNull(storage.load(KEY));
+        assertThrows(IOException.class, () -> storage.open(KEY));
+    }
+
+    @Test
+    void listsTheKeysBelowThePrefix() throws IOException {
+        Path source = Files.writeString(dir.resolve("source.tmp"), "image");
+        storage.store(KEY, source, "image/jpeg");
+        storage.store("abcdef0123456789_card.jpg", source, "image/jpeg");
+        s3.objects.put("other/" + KEY, new StubS3.StoredObject("other".getBytes(), "image/jpeg", Instant.now()));
+
+        List<StorageBackend.StoredObject> objects = storage.list();
+
+        assertEquals(List.of("abcdef0123456789.jpg", "abcdef0123456789_card.jpg"), objects.stream().map(StorageBackend.StoredObject::key).toList());
+        assertTrue(objects.stream().allMatch(object -> object.size() == 5 && object.lastModified() != null));
+    }
+
+    // Errors from the store (after the SDK's retries) surface as IOExceptions, a missing key does not.
+    @Test
+    void reportsErrorsOfTheStoreAsIOExceptions() throws IOException {
+        Path source = Files.writeString(dir.resolve("source.tmp"), "image");
+        s3.failing = true;
+
+        assertThrows(IOException.class, () -> storage.store(KEY, source, "image/jpeg"));
+        assertThrows(IOException.class, () -> storage.exists(KEY));
+        assertThrows(IOException.class, () -> storage.list());
+        assertThrows(IOException.class, () -> storage.delete(KEY));
+        assertThrows(IllegalArgumentException.class, () -> storage.exists("../" + KEY));
+
+        s3.failing = false;
+        assertFalse(storage.exists(KEY));
+    }
+
+    @Test
+    void backendIsChosenByProperty() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(StorageConfig.class)
+                .withPropertyValues("file.upload-dir=" + dir.resolve("uploads"));
+
+        runner.run(context -> assertInstanceOf(LocalShardedStorageBackend.class, context.getBean(StorageBackend.class)));
+        runner.withPropertyValues("file.storage.backend=s3", "file.storage.s3.bucket=uploads", "file.storage.s3.endpoint=" + s3.endpoint(),
+                        "file.storage.s3.access-key=minioadmin", "file.storage.s3.secret-key=minioadmin")
+                .run(context -> {
+                    StorageBackend backend = context.getBean(StorageBackend.class);
+                    assertInstanceOf(S3StorageBackend.class, backend);
+                    backend.store(KEY, Files.writeString(dir.resolve("source.tmp"), "image"), "image/jpeg");
+                    assertTrue(s3.objects.containsKey(KEY));
+                });
+    }
+
+    // Path-style requests only (StorageConfig forces them for custom endpoints). The SDK signs
+    // uploads over plain HTTP chunk by chunk (aws-chunked), which the stub decodes without checking
+    // any signatures.
+    static final class StubS3 {
+
+        record StoredObject(byte[] content, String contentType, Instant lastModified) {
+        }
+
+        final Map<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+        volatile boolean failing;
+        private final String bucket;
+        private final HttpServer server;
+
+        StubS3(String bucket) throws IOException {
+            this.bucket = bucket;
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                try (exchange) {
+                    handle(exchange);
+                }
+            });
+            server.start();
+        }
+
+        String endpoint() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            if (failing) {
+                exchange.getRequestBody().readAllBytes();
+                send(exchange, 500, error("InternalError"));
+                return;
+            }
+            if (!path.startsWith("/" + bucket)) {
+                send(exchange, 404, error("NoSuchBucket"));
+                return;
+            }
+            String key = path.length() > bucket.length() + 2 ? path.substring(bucket.length() + 2) : "";
+            String method = exchange.getRequestMethod();
+            if (key.isEmpty() && method.equals("GET")) {
+                send(exchange, 200, list(query(exchange, "prefix")));
+                return;
+            }
+            StoredObject object = objects.get(key);
+            switch (method) {
+                case "PUT" -> {
+                    byte[] content = body(exchange);
+                    objects.put(key, new StoredObject(content, exchange.getRequestHeaders().getFirst("Content-Type"), Instant.now()));
+                    exchange.getResponseHeaders().set("ETag", etag(content));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                case "HEAD" -> {
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.content().length));
+                    exchange.getResponseHeaders().set("Last-Modified", lastModified(object));
+                    exchange.getResponseHeaders().set("ETag", etag(object.content()));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> {
+                    if (object == null) {
+                        send(exchange, 404, error("NoSuchKey"));
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", object.contentType());
+                    exchange.getResponseHeaders().set("Last-Modified", lastModified(object));
+                    exchange.getResponseHeaders().set("ETag", etag(object.content()));
+                    exchange.sendResponseHeaders(200, object.content().length);
+                    exchange.getResponseBody().write(object.content());
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+
+        private String list(String prefix) {
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                    .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                    .append("<Name>").append(bucket).append("</Name><Prefix>").append(prefix).append("</Prefix>")
+                    .append("<MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>");
+            objects.forEach((key, object) -> {
+                if (key.startsWith(prefix)) {
+                    xml.append("<Contents><Key>").append(key).append("</Key>")
+                            .append("<LastModified>").append(object.lastModified().truncatedTo(ChronoUnit.MILLIS)).append("</LastModified>")
+                            .append("<ETag>").append(etag(object.content())).append("</ETag>")
+                            .append("<Size>").append(object.content().length).append("</Size>")
+                            .append("<StorageClass>STANDARD</StorageClass></Contents>");
+                }
+            });
+            return xml.append("</ListBucketResult>").toString();
+        }
+
+        private static byte[] body(HttpExchange exchange) throws IOException {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+            if (contentSha256 == null || !contentSha256.startsWith("STREAMING-")) {
+                return body;
+            }
+            // <hex size>;chunk-signature=<signature>\r\n<data>\r\n ... 0;chunk-signature=<signature>\r\n\r\n
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            int position = 0;
+            while (true) {
+                int lineEnd = indexOfCrlf(body, position);
+                String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+                int size = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+                if (size == 0) {
+                    return content.toByteArray();
+                }
+                content.write(body, lineEnd + 2, size);
+                position = lineEnd + 2 + size + 2;
+            }
+        }
+
+        private static int indexOfCrlf(byte[] bytes, int from) {
+            for (int i = from; i < bytes.length - 1; i++) {
+                if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Malformed aws-chunked body");
+        }
+
+        private static String query(HttpExchange exchange, String name) {
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    String[] pair = parameter.split("=", 2);
+                    if (pair[0].equals(name) && pair.length == 2) {
+                        return URLDecoder.decode(pair[1], StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            return "";
+        }
+
+        private static String error(String code) {
+            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>";
+        }
+
+        private static void send(HttpExchange exchange, int status, String xml) throws IOException {
+            byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+
+        // The SDK checks an upload's ETag against the MD5 of what it sent.
+        private static String etag(byte[] content) {
+            try {
+                return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static String lastModified(StoredObject object) {
+            return DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified().atZone(ZoneOffset.UTC));
+        }
+    }
+}